@@ -0,0 +1,22 @@
+package com.firstclub.membership.cache;
+
+public record CacheInvalidation(String nodeId, String cacheName, String key) {
+
+    private static final char SEPARATOR = '\u001f';
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    public String encode() {
+        return nodeId + SEPARATOR + cacheName + SEPARATOR + (key == null ? "" : key) + SEPARATOR + (key == null ? "C" : "E");
+    }
+
+    public static CacheInvalidation decode(String message) {
+        String[] parts = message.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation message");
+        }
+        return new CacheInvalidation(parts[0], parts[1], "C".equals(parts[3]) ? null : parts[2]);
+    }
+}
@@ -0,0 +1,10 @@
+package com.firstclub.membership.cache;
+
+import java.util.function.Consumer;
+
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,47 @@
+package com.firstclub.membership.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process store. Concurrent duplicates are already coalesced in memory by
+ * the caller, so claiming a key always succeeds.
+ */
+public class CaffeineIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> responses;
+
+    public CaffeineIdempotencyStore(long maximumSize, Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotentResponse> get(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key));
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public String tryLock(String key) {
+        return key;
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        return false;
+    }
+}
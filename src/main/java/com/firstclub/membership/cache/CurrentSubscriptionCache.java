@@ -0,0 +1,146 @@
+package com.firstclub.membership.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of each user's current subscription in {@code userSubscriptions}.
+ *
+ * <p>Every entry carries its own deadline. A positive entry expires at the earlier of the
+ * subscription's {@code expiryDate} and {@code max-ttl}, so it can never outlive the
+ * subscription. A "no active subscription" entry lives for {@code negative-ttl}. Readers
+ * only fill empty slots. Writers overwrite after their transaction commits, so a
+ * concurrent reader cannot replace fresh data with what it read before the commit.
+ */
+@Component
+public class CurrentSubscriptionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentSubscriptionCache.class);
+
+    private final CacheManager cacheManager;
+    private final Clock clock;
+    private final long maxTtlMillis;
+    private final long negativeTtlMillis;
+
+    @Autowired
+    public CurrentSubscriptionCache(CacheManager cacheManager,
+                                    @Value("${app.cache.current-subscription.max-ttl:10m}") Duration maxTtl,
+                                    @Value("${app.cache.current-subscription.negative-ttl:30s}") Duration negativeTtl) {
+        this(cacheManager, Clock.systemDefaultZone(), maxTtl, negativeTtl);
+    }
+
+    CurrentSubscriptionCache(CacheManager cacheManager, Clock clock, Duration maxTtl, Duration negativeTtl) {
+        this.cacheManager = cacheManager;
+        this.clock = clock;
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+    }
+
+    public Optional<CurrentSubscriptionEntry> get(Long userId) {
+        Cache cache = cache();
+        if (cache == null) {
+            return Optional.empty();
+        }
+        Cache.ValueWrapper wrapper = cache.get(userId);
+        if (wrapper == null || !(wrapper.get() instanceof CurrentSubscriptionEntry entry)) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(clock.millis())) {
+            logger.debug("Cached current subscription for userId: {} has expired", userId);
+            cache.evict(userId);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    public void populate(Long userId, SubscriptionResponse subscription) {
+        CurrentSubscriptionEntry entry = subscription != null ? present(subscription) : absent();
+        Cache cache = cache();
+        if (cache != null && entry != null) {
+            cache.putIfAbsent(userId, entry);
+        }
+    }
+
+    public void refreshAfterCommit(Long userId, SubscriptionResponse subscription) {
+        afterCommit(() -> {
+            Cache cache = cache();
+            if (cache == null) {
+                return;
+            }
+            CurrentSubscriptionEntry entry = subscription != null ? present(subscription) : absent();
+            if (entry != null) {
+                cache.put(userId, entry);
+            } else {
+                cache.evict(userId);
+            }
+            logger.debug("Refreshed cached current subscription for userId: {}", userId);
+        });
+    }
+
+    public static Duration timeToLive(Object value, Duration fallback) {
+        if (value instanceof CurrentSubscriptionEntry entry) {
+            return Duration.ofMillis(Math.max(1, entry.expiresAtMillis() - System.currentTimeMillis()));
+        }
+        return fallback;
+    }
+
+    public static RedisSerializer<CurrentSubscriptionEntry> redisSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, CurrentSubscriptionEntry.class);
+    }
+
+    private CurrentSubscriptionEntry present(SubscriptionResponse subscription) {
+        long now = clock.millis();
+        long expiresAt = now + maxTtlMillis;
+        if (subscription.getExpiryDate() != null) {
+            long expiryMillis = subscription.getExpiryDate().atZone(clock.getZone()).toInstant().toEpochMilli();
+            expiresAt = Math.min(expiresAt, expiryMillis);
+        }
+        return expiresAt > now ? new CurrentSubscriptionEntry(subscription, expiresAt) : null;
+    }
+
+    private CurrentSubscriptionEntry absent() {
+        return new CurrentSubscriptionEntry(null, clock.millis() + negativeTtlMillis);
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(AppConstants.CACHE_USER_SUBSCRIPTIONS);
+        // Writes are already deferred to commit here. Going through the transaction-aware
+        // decorator would defer them again from inside afterCommit, where they never run.
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
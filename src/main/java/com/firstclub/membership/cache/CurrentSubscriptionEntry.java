@@ -0,0 +1,20 @@
+package com.firstclub.membership.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+
+/**
+ * Cached answer to "what is this user's current subscription". A {@code null}
+ * subscription records that the user has none.
+ */
+public record CurrentSubscriptionEntry(SubscriptionResponse subscription, long expiresAtMillis) {
+
+    @JsonIgnore
+    public boolean isPresent() {
+        return subscription != null;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
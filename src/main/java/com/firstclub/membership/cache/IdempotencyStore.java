@@ -0,0 +1,27 @@
+package com.firstclub.membership.cache;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    Optional<IdempotentResponse> get(String key);
+
+    void put(String key, IdempotentResponse response);
+
+    /**
+     * Claims a key for execution across instances. Returns a token identifying this claim,
+     * or {@code null} while another instance holds one.
+     */
+    String tryLock(String key);
+
+    /**
+     * Releases the claim only if it is still the one identified by {@code token}, so an
+     * expired claim since taken over by another instance is left alone.
+     */
+    void unlock(String key, String token);
+
+    /**
+     * Whether any instance currently holds a claim on the key.
+     */
+    boolean isLocked(String key);
+}
@@ -0,0 +1,8 @@
+package com.firstclub.membership.cache;
+
+/**
+ * A completed response stored under an idempotency key: the HTTP status, a hash of the
+ * request it answered and the serialized JSON body.
+ */
+public record IdempotentResponse(int status, String requestHash, String body) {
+}
@@ -0,0 +1,48 @@
+package com.firstclub.membership.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class RedisCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), invalidation.encode());
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish cache invalidation for cache: {}, key: {} - error: {}",
+                        invalidation.cacheName(), invalidation.key(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(CacheInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring cache invalidation message - error: {}", e.getMessage());
+            }
+        }, topic);
+    }
+}
@@ -0,0 +1,99 @@
+package com.firstclub.membership.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shares stored responses between instances through Redis, with a {@code SET NX PX} claim
+ * so a duplicate arriving at another instance mid-flight does not execute again. Each claim
+ * holds a random token and is released with a compare-and-delete script, so an instance
+ * whose claim expired cannot delete the claim another instance took over. The claim TTL
+ * must outlast the slowest request. Redis errors are logged and treated as a miss, so an
+ * outage degrades to plain execution.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisIdempotencyStore.class);
+    private static final String KEY_PREFIX = "membership:idempotency:";
+    private static final String LOCK_PREFIX = "membership:idempotency-lock:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTtl;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                 Duration ttl, Duration lockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> get(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value == null ? Optional.empty() : Optional.of(objectMapper.readValue(value, IdempotentResponse.class));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.error("Failed to read idempotent response for key: {} - error: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response), ttl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.error("Failed to store idempotent response for key: {} - error: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public String tryLock(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key, token, lockTtl))
+                    ? token : null;
+        } catch (RuntimeException e) {
+            logger.error("Failed to claim idempotency key: {} - error: {}", key, e.getMessage());
+            return token;
+        }
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        try {
+            Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_PREFIX + key), token);
+            if (released == null || released == 0) {
+                logger.warn("Idempotency claim for key: {} expired before the request finished", key);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release idempotency key: {} - error: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_PREFIX + key));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to check idempotency claim for key: {} - error: {}", key, e.getMessage());
+            return true;
+        }
+    }
+}
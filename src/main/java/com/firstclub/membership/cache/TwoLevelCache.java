@@ -0,0 +1,115 @@
+package com.firstclub.membership.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> nearCache;
+    private final Cache sharedCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> nearCache,
+                         Cache sharedCache,
+                         CacheInvalidationBus invalidationBus,
+                         String nodeId) {
+        this.name = name;
+        this.nearCache = nearCache;
+        this.sharedCache = sharedCache;
+        this.invalidationBus = invalidationBus;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return nearCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        Object value = nearCache.getIfPresent(nearKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = sharedCache.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            nearCache.put(nearKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = sharedCache.get(key, valueLoader);
+        if (value != null) {
+            nearCache.put(nearKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        sharedCache.put(key, value);
+        String nearKey = nearKey(key);
+        if (value != null) {
+            nearCache.put(nearKey, value);
+        } else {
+            nearCache.invalidate(nearKey);
+        }
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, nearKey));
+    }
+
+    @Override
+    public void evict(Object key) {
+        sharedCache.evict(key);
+        String nearKey = nearKey(key);
+        nearCache.invalidate(nearKey);
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, nearKey));
+    }
+
+    @Override
+    public void clear() {
+        sharedCache.clear();
+        nearCache.invalidateAll();
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, null));
+    }
+
+    void invalidateLocal(String nearKey) {
+        if (nearKey == null) {
+            nearCache.invalidateAll();
+        } else {
+            nearCache.invalidate(nearKey);
+        }
+    }
+
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,80 @@
+package com.firstclub.membership.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Near cache in Caffeine in front of a shared cache (Redis in production). Local
+ * writes and evictions are broadcast on the invalidation bus so every other node drops
+ * its near copy of the key.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final CacheManager sharedCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final long nearMaximumSize;
+    private final Duration nearExpireAfterWrite;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public TwoLevelCacheManager(CacheManager sharedCacheManager,
+                                CacheInvalidationBus invalidationBus,
+                                long nearMaximumSize,
+                                Duration nearExpireAfterWrite) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.nearMaximumSize = nearMaximumSize;
+        this.nearExpireAfterWrite = nearExpireAfterWrite;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache sharedCache = sharedCacheManager.getCache(name);
+        if (sharedCache == null) {
+            return null;
+        }
+        logger.debug("Creating two-level cache: {}", name);
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(nearMaximumSize)
+                        .expireAfterWrite(nearExpireAfterWrite)
+                        .build(),
+                sharedCache,
+                invalidationBus,
+                nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+        Cache cache = lookupCache(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        logger.trace("Dropping near cache entry - cache: {}, key: {}", invalidation.cacheName(), invalidation.key());
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        ((TwoLevelCache) target).invalidateLocal(invalidation.key());
+    }
+}
@@ -1,7 +1,16 @@
 package com.firstclub.membership.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.cache.CacheInvalidationBus;
+import com.firstclub.membership.cache.CaffeineIdempotencyStore;
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.cache.IdempotencyStore;
+import com.firstclub.membership.cache.RedisCacheInvalidationBus;
+import com.firstclub.membership.cache.RedisIdempotencyStore;
+import com.firstclub.membership.cache.TwoLevelCacheManager;
 import com.firstclub.membership.constants.AppConstants;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +19,8 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -20,21 +31,91 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
 
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private static final String REDIS = "'${spring.cache.type:}' == 'redis'";
+    private static final String NOT_REDIS = "'${spring.cache.type:}' != 'redis'";
+    private static final String REDIS_ONLY =
+            "'${spring.cache.type:}' == 'redis' and !${app.cache.two-level.enabled:false}";
+    private static final String REDIS_TWO_LEVEL =
+            "'${spring.cache.type:}' == 'redis' and ${app.cache.two-level.enabled:false}";
+
     @Bean
     @Primary
-    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    @ConditionalOnExpression(REDIS_ONLY)
     public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration())
+                .withCacheConfiguration(AppConstants.CACHE_USER_SUBSCRIPTIONS, userSubscriptionsCacheConfiguration())
+                .transactionAware()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnExpression(REDIS_TWO_LEVEL)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnExpression(REDIS_TWO_LEVEL)
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                                     RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                                     @Value("${app.cache.two-level.channel:" + AppConstants.CACHE_INVALIDATION_CHANNEL + "}") String channel) {
+        return new RedisCacheInvalidationBus(redisTemplate, cacheInvalidationListenerContainer, channel);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnExpression(REDIS_TWO_LEVEL)
+    public CacheManager twoLevelCacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheInvalidationBus cacheInvalidationBus,
+                                             @Value("${app.cache.two-level.near-maximum-size:10000}") long nearMaximumSize,
+                                             @Value("${app.cache.two-level.near-expire-after-write:60s}") Duration nearExpireAfterWrite) {
+        RedisCacheManager sharedCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration())
+                .withCacheConfiguration(AppConstants.CACHE_USER_SUBSCRIPTIONS, userSubscriptionsCacheConfiguration())
+                .build();
+        sharedCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                sharedCacheManager, cacheInvalidationBus, nearMaximumSize, nearExpireAfterWrite);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnExpression(REDIS)
+    public IdempotencyStore redisIdempotencyStore(StringRedisTemplate redisTemplate,
+                                                  ObjectMapper objectMapper,
+                                                  @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                                  @Value("${app.idempotency.lock-ttl:3m}") Duration lockTtl) {
+        return new RedisIdempotencyStore(redisTemplate, objectMapper, ttl, lockTtl);
+    }
+
+    @Bean
+    @ConditionalOnExpression(NOT_REDIS)
+    public IdempotencyStore caffeineIdempotencyStore(@Value("${app.idempotency.maximum-size:100000}") long maximumSize,
+                                                     @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        return new CaffeineIdempotencyStore(maximumSize, ttl);
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration() {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(DEFAULT_TTL)
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .transactionAware()
-                .build();
+    private RedisCacheConfiguration userSubscriptionsCacheConfiguration() {
+        return redisCacheConfiguration()
+                .entryTtl((key, value) -> CurrentSubscriptionCache.timeToLive(value, DEFAULT_TTL))
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(CurrentSubscriptionCache.redisSerializer()));
     }
 }
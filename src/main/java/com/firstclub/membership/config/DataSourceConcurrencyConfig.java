@@ -0,0 +1,81 @@
+package com.firstclub.membership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link ConcurrencyLimitedDataSource} sized to
+ * the Hikari pool unless {@code max-concurrent} is set explicitly. Behind the read replica
+ * router the default is the primary pool plus every replica pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class DataSourceConcurrencyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConcurrencyConfig.class);
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource
+                        || bean instanceof ReadReplicaRoutingDataSource) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getProperty("app.datasource.concurrency-limit.max-concurrent",
+                                                            Integer.class, 0);
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = poolSize(dataSource);
+                }
+                Duration acquireTimeout = environment.getProperty("app.datasource.concurrency-limit.acquire-timeout",
+                                                                  Duration.class, Duration.ofSeconds(60));
+                logger.info("Limiting data source '{}' to {} concurrent connections, acquire timeout {} ms",
+                           beanName, maxConcurrent, acquireTimeout.toMillis());
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, acquireTimeout);
+            }
+        };
+    }
+
+    static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof DelegatingDataSource delegating
+                && delegating.getTargetDataSource() instanceof ReadReplicaRoutingDataSource routing) {
+            return routing.getTargetDataSources().stream()
+                    .mapToInt(DataSourceConcurrencyConfig::poolSize)
+                    .sum();
+        }
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return HIKARI_DEFAULT_POOL_SIZE;
+    }
+
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ConcurrencyLimitedDataSource limited)) {
+                return;
+            }
+            Gauge.builder("membership.db.permits.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .description("Database connection permits currently free")
+                    .register(registry);
+            Gauge.builder("membership.db.permits.queued", limited, ConcurrencyLimitedDataSource::getQueueLength)
+                    .description("Threads parked waiting for a database connection permit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.firstclub.membership.config;
+
+import com.firstclub.membership.service.AtomicOrderStatsService;
+import com.firstclub.membership.service.OrderBatchService;
+import com.firstclub.membership.service.SubscriptionMetrics;
+import com.firstclub.membership.service.SubscriptionService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * Times every public operation of the subscription write services ({@link SubscriptionService},
+ * {@link AtomicOrderStatsService} and {@link OrderBatchService}) from outside its transaction, so
+ * the recorded latency and outcome include the commit and any serialization failure raised
+ * by it. The advisor is registered as infrastructure so the transaction auto-proxy creator
+ * applies it, and ordered ahead of the transaction interceptor.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Set<Class<?>> TIMED_SERVICES =
+            Set.of(SubscriptionService.class, AtomicOrderStatsService.class, OrderBatchService.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor subscriptionOperationMetricsAdvisor(ObjectProvider<SubscriptionMetrics> metrics) {
+        MethodInterceptor interceptor = invocation -> {
+            String operation = invocation.getMethod().getName();
+            long startNanos = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                metrics.getObject().recordOperation(operation, System.nanoTime() - startNanos, null);
+                return result;
+            } catch (Throwable e) {
+                metrics.getObject().recordOperation(operation, System.nanoTime() - startNanos, e);
+                throw e;
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                Class<?> declaringClass = method.getDeclaringClass();
+                return TIMED_SERVICES.contains(declaringClass)
+                        && declaringClass.isAssignableFrom(targetClass)
+                        && Modifier.isPublic(method.getModifiers());
+            }
+        }, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
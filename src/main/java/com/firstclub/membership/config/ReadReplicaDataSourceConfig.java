@@ -0,0 +1,107 @@
+package com.firstclub.membership.config;
+
+import com.firstclub.membership.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool and one pool per replica URL behind a
+ * {@link ReadReplicaRoutingDataSource}. Every pool takes its settings from
+ * {@code spring.datasource.hikari}; replicas reuse the primary credentials unless their own
+ * are set, and their connections are read-only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaDataSourceConfig.class);
+
+    @Bean(autowireCandidate = false)
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replicas.username:}") String replicaUsername,
+            @Value("${app.datasource.replicas.password:}") String replicaPassword,
+            @Value("${app.datasource.replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${app.datasource.replicas.health-check-interval:10s}") Duration healthCheckInterval,
+            @Value("${app.datasource.replicas.validation-timeout:2s}") Duration validationTimeout,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag) {
+        Binder binder = Binder.get(environment);
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configurePool(primary, "primary", binder, metricsTrackerFactory);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                    .password(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword)
+                    .build();
+            configurePool(replica, "replica-" + replicas.size(), binder, metricsTrackerFactory);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+            logger.info("Configured read replica pool replica-{} for {}", replicas.size() - 1, url.trim());
+        }
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                primary, replicas, ReadReplicaDataSourceConfig::currentUserId,
+                stickyWindow, validationTimeout, lagQuery, maxLag, meterRegistry);
+        routing.start(healthCheckInterval);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(BeanFactory beanFactory) {
+        // The router is not an autowire candidate, so JPA and the rest only see this proxy
+        return new LazyConnectionDataSourceProxy(
+                beanFactory.getBean("readReplicaRoutingDataSource", ReadReplicaRoutingDataSource.class));
+    }
+
+    private static void configurePool(HikariDataSource pool, String name, Binder binder,
+                                      MicrometerMetricsTrackerFactory metricsTrackerFactory) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(metricsTrackerFactory);
+    }
+
+    private static Object currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
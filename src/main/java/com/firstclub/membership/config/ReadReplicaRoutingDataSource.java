@@ -0,0 +1,286 @@
+package com.firstclub.membership.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica, round robin, and
+ * everything else to the primary. It decides when the connection is requested, so it has to
+ * sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy};
+ * the read-only flag is only bound after the transaction manager has begun the transaction.
+ *
+ * <p>A read-write transaction marks its stickiness key (the current user) for
+ * {@code stickyWindow}, measured again from its completion. Read-only transactions for a
+ * marked key stay on the primary, so a user reads their own writes regardless of
+ * replication lag. The window is per instance.
+ *
+ * <p>A replica is taken out of rotation when a connection to it fails or a periodic check
+ * finds it invalid or lagging by more than {@code maxLag}, and put back when a later check
+ * passes. With no healthy replica, reads fall back to the primary.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final long MAX_STICKY_KEYS = 100_000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Supplier<Object> stickinessKey;
+    private final Cache<Object, Boolean> stickyKeys;
+    private final int validationTimeoutSeconds;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    private final Counter primaryWrites;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<Object> stickinessKey,
+                                        Duration stickyWindow, Duration validationTimeout, String lagQuery,
+                                        Duration maxLag, MeterRegistry meterRegistry) {
+        this(primary, replicas, stickinessKey, stickyWindow, validationTimeout, lagQuery, maxLag, meterRegistry,
+             System::nanoTime);
+    }
+
+    ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<Object> stickinessKey,
+                                 Duration stickyWindow, Duration validationTimeout, String lagQuery,
+                                 Duration maxLag, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica data source is required");
+        }
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica("replica-" + index, replicas.get(index)))
+                .toList();
+        this.stickinessKey = stickinessKey;
+        this.stickyKeys = Caffeine.newBuilder()
+                .maximumSize(MAX_STICKY_KEYS)
+                .expireAfterWrite(stickyWindow)
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+
+        this.primaryWrites = routedCounter(meterRegistry, "primary");
+        this.replicaReads = routedCounter(meterRegistry, "replica");
+        this.stickyReads = routedCounter(meterRegistry, "primary-sticky");
+        this.fallbackReads = routedCounter(meterRegistry, "primary-fallback");
+        Gauge.builder("membership.db.replicas.healthy", this, ReadReplicaRoutingDataSource::getHealthyReplicas)
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts checking replica health every {@code interval} on a daemon thread.
+     */
+    public void start(Duration interval) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Routing read-only transactions to {} replicas, health check every {} ms",
+                   replicas.size(), interval.toMillis());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWrite();
+            }
+            primaryWrites.increment();
+            return opener.open(primary);
+        }
+
+        Object key = stickinessKey.get();
+        if (key != null && stickyKeys.getIfPresent(key) != null) {
+            logger.debug("Read-only transaction for {} kept on primary after a recent write", key);
+            stickyReads.increment();
+            return opener.open(primary);
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown("connection failed: " + e.getMessage());
+            }
+        }
+        logger.debug("No healthy replica available, reading from primary");
+        fallbackReads.increment();
+        return opener.open(primary);
+    }
+
+    private void markWrite() {
+        Object key = stickinessKey.get();
+        if (key == null) {
+            return;
+        }
+        stickyKeys.put(key, Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    stickyKeys.put(key, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    /**
+     * Validates every replica, in rotation or not, and moves it in or out of rotation.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem;
+            try {
+                problem = probe(replica.dataSource);
+            } catch (SQLException | RuntimeException e) {
+                problem = "check failed: " + e.getMessage();
+            }
+            if (problem == null) {
+                replica.markUp();
+            } else {
+                replica.markDown(problem);
+            }
+        }
+    }
+
+    private String probe(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                return "connection not valid";
+            }
+            if (lagQuery == null) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(validationTimeoutSeconds);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    long lagMillis = resultSet.next() ? (long) (resultSet.getDouble(1) * 1000) : 0;
+                    return lagMillis > maxLagMillis ? "replication lag " + lagMillis + " ms" : null;
+                }
+            }
+        }
+    }
+
+    /**
+     * The primary followed by every replica, whether in rotation or not.
+     */
+    public List<DataSource> getTargetDataSources() {
+        List<DataSource> targets = new ArrayList<>(replicas.size() + 1);
+        targets.add(primary);
+        replicas.forEach(replica -> targets.add(replica.dataSource));
+        return targets;
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            closeQuietly(replica.name, replica.dataSource);
+        }
+        closeQuietly("primary", primary);
+    }
+
+    private static void closeQuietly(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close {} data source - error: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("membership.db.connections.routed")
+                .description("Connections handed out by the read replica router, by target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                logger.info("Read replica {} is healthy again, back in rotation", name);
+            }
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                logger.warn("Read replica {} taken out of rotation - {}", name, reason);
+            }
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package com.firstclub.membership.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.security.BoundedPasswordEncoder;
 import com.firstclub.membership.security.CustomUserDetailsService;
 import com.firstclub.membership.security.JwtAuthenticationFilter;
 import com.firstclub.membership.security.JwtTokenProvider;
+import com.firstclub.membership.security.RateLimitFilter;
+import com.firstclub.membership.security.RateLimitRule;
+import com.firstclub.membership.security.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -18,6 +31,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -31,23 +47,54 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider tokenProvider,
-                                                          CustomUserDetailsService userDetailsService) {
-        return new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+                                                          CustomUserDetailsService userDetailsService,
+                                                          ObjectProvider<TokenRevocationService> revocationService,
+                                                          MeterRegistry meterRegistry) {
+        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, revocationService.getIfAvailable(),
+                                           meterRegistry);
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                  @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+                                                  @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                                  @Value("${app.security.password-hashing.wait-timeout:10s}") Duration waitTimeout,
+                                                  @Value("${app.security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int workers = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), workers, queueCapacity,
+                                          waitTimeout, retryAfter, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+    public RateLimitFilter rateLimitFilter(Environment environment,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                                           @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        List<RateLimitRule> rules = Binder.get(environment)
+                .bind("app.rate-limit.routes", Bindable.listOf(RateLimitRule.class))
+                .orElse(List.of());
+        return new RateLimitFilter(rules, maxBuckets, idleTimeout, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        // Runs inside the security filter chain only, where the principal is already known
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
@@ -55,7 +102,9 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, 
-                                          JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+                                          JwtAuthenticationFilter jwtAuthenticationFilter,
+                                          DaoAuthenticationProvider authenticationProvider,
+                                          ObjectProvider<RateLimitFilter> rateLimitFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -66,8 +115,9 @@ public class SecurityConfig {
                 .requestMatchers("/actuator/**").permitAll()
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        rateLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, JwtAuthenticationFilter.class));
 
         http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
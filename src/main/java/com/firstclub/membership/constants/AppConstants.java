@@ -16,6 +16,7 @@ public final class AppConstants {
     public static final String CACHE_MEMBERSHIP_PLANS = "membershipPlans";
     public static final String CACHE_MEMBERSHIP_TIERS = "membershipTiers";
     public static final String CACHE_USER_SUBSCRIPTIONS = "userSubscriptions";
+    public static final String CACHE_INVALIDATION_CHANNEL = "membership:cache-invalidation";
     
     public static final String SUCCESS_MESSAGE_REGISTRATION = "User registered successfully";
     public static final String SUCCESS_MESSAGE_LOGIN = "Login successful";
@@ -30,4 +31,6 @@ public final class AppConstants {
     public static final String ERROR_MESSAGE_SAME_TIER = "User is already on this tier";
     public static final String ERROR_MESSAGE_NO_ACTIVE_SUBSCRIPTION = "No active subscription found for user";
     public static final String ERROR_MESSAGE_INVALID_CREDENTIALS = "Invalid username or password";
+    public static final String ERROR_MESSAGE_ORDER_CONFLICT = "Order could not be applied due to a concurrent update, please retry";
+    public static final String ERROR_MESSAGE_ORDER_FAILED = "Order could not be applied, please retry";
 }
@@ -0,0 +1,142 @@
+package com.firstclub.membership.controller;
+
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.service.MembershipCatalog;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for the plan and tier endpoints. The strong ETag of every catalog
+ * resource is derived from {@link MembershipCatalog#getContentHash()}, so a matching
+ * {@code If-None-Match} is answered with 304 before the service is called. The catalog is
+ * the same for every user, so responses are marked {@code public} for shared caches.
+ *
+ * <p>With {@code app.catalog.pre-serialized.enabled} the body is copied from
+ * {@link PreSerializedCatalog} straight to the servlet response, gzip-encoded when the
+ * client accepts it, and {@code null} is returned to tell Spring MVC the response has been
+ * handled. The gzip variant carries its own ETag, since a strong validator has to change
+ * with the content coding. Unknown ids fall through to the service, which reports the 404.
+ */
+@Component
+public class CatalogHttpCaching {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogHttpCaching.class);
+
+    private final MembershipCatalog catalog;
+    private final PreSerializedCatalog preSerialized;
+    private final CacheControl cacheControl;
+    private final String cacheControlValue;
+
+    public CatalogHttpCaching(MembershipCatalog catalog,
+                              ObjectProvider<PreSerializedCatalog> preSerialized,
+                              @Value("${app.catalog.http-cache.max-age:60s}") Duration maxAge,
+                              @Value("${app.catalog.http-cache.stale-while-revalidate:5m}") Duration staleWhileRevalidate) {
+        this.catalog = catalog;
+        this.preSerialized = preSerialized.getIfAvailable();
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .cachePublic()
+                .staleWhileRevalidate(staleWhileRevalidate);
+        this.cacheControlValue = cacheControl.getHeaderValue();
+    }
+
+    static String etag(String resource, String contentHash) {
+        return "\"" + resource + "-" + contentHash + "\"";
+    }
+
+    public <T> ResponseEntity<ApiResponse<T>> respond(WebRequest request, String resource, Supplier<T> body) {
+        PreSerializedCatalog.Body serialized = preSerialized != null ? preSerialized.find(resource) : null;
+        if (serialized != null) {
+            return respondSerialized(request, resource, serialized);
+        }
+        String etag = etag(resource, catalog.getContentHash());
+        if (request.checkNotModified(etag)) {
+            return notModified(resource);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success(body.get()));
+    }
+
+    private <T> ResponseEntity<T> notModified(String resource) {
+        logger.debug("Catalog resource {} not modified", resource);
+        // checkNotModified has already written the ETag header
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private <T> ResponseEntity<T> respondSerialized(WebRequest request, String resource,
+                                                    PreSerializedCatalog.Body serialized) {
+        HttpServletResponse response = request instanceof NativeWebRequest nativeRequest
+                ? nativeRequest.getNativeResponse(HttpServletResponse.class)
+                : null;
+        if (response == null) {
+            throw new IllegalStateException("Pre-serialized catalog bodies need a servlet response");
+        }
+        boolean gzip = serialized.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (serialized.gzip() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (request.checkNotModified(gzip ? serialized.gzipEtag() : serialized.etag())) {
+            return notModified(resource);
+        }
+
+        byte[] bytes = gzip ? serialized.gzip() : serialized.json();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        try {
+            response.getOutputStream().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // A null ResponseEntity tells Spring MVC the response has already been written
+        return null;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !isZeroQuality(parts[1].trim());
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
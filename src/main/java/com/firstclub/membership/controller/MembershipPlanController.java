@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,22 +20,22 @@ import java.util.List;
 public class MembershipPlanController {
 
     private final MembershipPlanService planService;
+    private final CatalogHttpCaching httpCaching;
 
-    public MembershipPlanController(MembershipPlanService planService) {
+    public MembershipPlanController(MembershipPlanService planService, CatalogHttpCaching httpCaching) {
         this.planService = planService;
+        this.httpCaching = httpCaching;
     }
 
     @GetMapping
     @Operation(summary = "Get all membership plans", description = "Retrieve all active membership plans")
-    public ResponseEntity<ApiResponse<List<MembershipPlanResponse>>> getAllPlans() {
-        List<MembershipPlanResponse> plans = planService.getAllPlans();
-        return ResponseEntity.ok(ApiResponse.success(plans));
+    public ResponseEntity<ApiResponse<List<MembershipPlanResponse>>> getAllPlans(WebRequest request) {
+        return httpCaching.respond(request, "plans", planService::getAllPlans);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get membership plan by ID", description = "Retrieve a specific membership plan")
-    public ResponseEntity<ApiResponse<MembershipPlanResponse>> getPlanById(@PathVariable Long id) {
-        MembershipPlanResponse plan = planService.getPlanById(id);
-        return ResponseEntity.ok(ApiResponse.success(plan));
+    public ResponseEntity<ApiResponse<MembershipPlanResponse>> getPlanById(@PathVariable Long id, WebRequest request) {
+        return httpCaching.respond(request, "plan-" + id, () -> planService.getPlanById(id));
     }
 }
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,22 +20,22 @@ import java.util.List;
 public class MembershipTierController {
 
     private final MembershipTierService tierService;
+    private final CatalogHttpCaching httpCaching;
 
-    public MembershipTierController(MembershipTierService tierService) {
+    public MembershipTierController(MembershipTierService tierService, CatalogHttpCaching httpCaching) {
         this.tierService = tierService;
+        this.httpCaching = httpCaching;
     }
 
     @GetMapping
     @Operation(summary = "Get all membership tiers", description = "Retrieve all active membership tiers with benefits")
-    public ResponseEntity<ApiResponse<List<MembershipTierResponse>>> getAllTiers() {
-        List<MembershipTierResponse> tiers = tierService.getAllTiers();
-        return ResponseEntity.ok(ApiResponse.success(tiers));
+    public ResponseEntity<ApiResponse<List<MembershipTierResponse>>> getAllTiers(WebRequest request) {
+        return httpCaching.respond(request, "tiers", tierService::getAllTiers);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get membership tier by ID", description = "Retrieve a specific membership tier with benefits")
-    public ResponseEntity<ApiResponse<MembershipTierResponse>> getTierById(@PathVariable Long id) {
-        MembershipTierResponse tier = tierService.getTierById(id);
-        return ResponseEntity.ok(ApiResponse.success(tier));
+    public ResponseEntity<ApiResponse<MembershipTierResponse>> getTierById(@PathVariable Long id, WebRequest request) {
+        return httpCaching.respond(request, "tier-" + id, () -> tierService.getTierById(id));
     }
 }
@@ -0,0 +1,144 @@
+package com.firstclub.membership.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.dto.response.MembershipPlanResponse;
+import com.firstclub.membership.dto.response.MembershipTierResponse;
+import com.firstclub.membership.service.MembershipCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of the plan and tier endpoints, serialized once per catalog content hash
+ * and kept as byte arrays, with a gzip variant when compression is enabled. A request only
+ * looks up the body for its resource and copies the bytes to the response. Bodies are
+ * rebuilt lazily by the first request that sees a new content hash; the envelope timestamp
+ * is therefore the time the bodies were built, not the time of the request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog.pre-serialized.enabled", havingValue = "true")
+public class PreSerializedCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreSerializedCatalog.class);
+
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final MembershipCatalog catalog;
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile Bodies bodies = Bodies.EMPTY;
+
+    public PreSerializedCatalog(MembershipCatalog catalog,
+                                ObjectMapper objectMapper,
+                                @Value("${app.catalog.pre-serialized.gzip:true}") boolean gzipEnabled) {
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        logger.info("Serving catalog endpoints from pre-serialized bodies, gzip variants: {}", gzipEnabled);
+    }
+
+    /**
+     * Body for a resource name as used by {@link CatalogHttpCaching}, or {@code null} when the
+     * catalog has no such plan or tier.
+     */
+    Body find(String resource) {
+        String contentHash = catalog.getContentHash();
+        Bodies current = bodies;
+        if (!current.contentHash.equals(contentHash)) {
+            current = rebuild(contentHash);
+        }
+        return current.byResource.get(resource);
+    }
+
+    private Bodies rebuild(String contentHash) {
+        buildLock.lock();
+        try {
+            Bodies current = bodies;
+            for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS && !current.contentHash.equals(contentHash); attempt++) {
+                Bodies built = build(contentHash, catalog.getPlans(), catalog.getTiers());
+                // A refresh between reading the hash and the lists would pair new content with
+                // an old ETag, so only publish when the hash did not move underneath the build.
+                String after = catalog.getContentHash();
+                if (after.equals(contentHash)) {
+                    bodies = built;
+                    current = built;
+                    logger.info("Pre-serialized {} catalog bodies for content {}", built.byResource.size(), contentHash);
+                } else {
+                    contentHash = after;
+                }
+            }
+            return current;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Bodies build(String contentHash, List<MembershipPlanResponse> plans, List<MembershipTierResponse> tiers) {
+        Map<String, Body> byResource = new HashMap<>();
+        byResource.put("plans", body("plans", contentHash, plans));
+        byResource.put("tiers", body("tiers", contentHash, tiers));
+        for (MembershipPlanResponse plan : plans) {
+            String resource = "plan-" + plan.getId();
+            byResource.put(resource, body(resource, contentHash, plan));
+        }
+        for (MembershipTierResponse tier : tiers) {
+            String resource = "tier-" + tier.getId();
+            byResource.put(resource, body(resource, contentHash, tier));
+        }
+        return new Bodies(contentHash, Map.copyOf(byResource));
+    }
+
+    private Body body(String resource, String contentHash, Object data) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Catalog resource " + resource + " could not be serialized", e);
+        }
+        byte[] gzip = gzipEnabled ? gzip(json) : null;
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new Body(CatalogHttpCaching.etag(resource, contentHash),
+                CatalogHttpCaching.etag(resource + "-gzip", contentHash), json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One serialized resource. The arrays are never handed out beyond the response stream,
+     * so they are shared by all requests without copying.
+     */
+    record Body(String etag, String gzipEtag, byte[] json, byte[] gzip) {
+    }
+
+    private record Bodies(String contentHash, Map<String, Body> byResource) {
+
+        private static final Bodies EMPTY = new Bodies("", Map.of());
+    }
+}
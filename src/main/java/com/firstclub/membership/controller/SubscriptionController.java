@@ -1,11 +1,20 @@
 package com.firstclub.membership.controller;
 
+import com.firstclub.membership.dto.request.BatchOrderUpdateRequest;
 import com.firstclub.membership.dto.request.OrderUpdateRequest;
 import com.firstclub.membership.dto.request.SubscriptionRequest;
 import com.firstclub.membership.dto.request.TierChangeRequest;
 import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.dto.response.BatchOrderUpdateResponse;
+import com.firstclub.membership.dto.response.SubscriptionHistoryResponse;
 import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.logging.LogMarkers;
 import com.firstclub.membership.security.UserPrincipal;
+import com.firstclub.membership.service.AtomicOrderStatsService;
+import com.firstclub.membership.service.IdempotencyService;
+import com.firstclub.membership.service.OrderBatchService;
+import com.firstclub.membership.service.OrderStatsAccumulator;
+import com.firstclub.membership.service.SubscriptionHistoryService;
 import com.firstclub.membership.service.SubscriptionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,11 +22,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/subscriptions")
@@ -28,30 +40,51 @@ public class SubscriptionController {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionController.class);
 
     private final SubscriptionService subscriptionService;
+    private final SubscriptionHistoryService subscriptionHistoryService;
+    private final OrderBatchService orderBatchService;
+    private final OrderStatsAccumulator orderStatsAccumulator;
+    private final AtomicOrderStatsService atomicOrderStatsService;
+    private final IdempotencyService idempotencyService;
 
-    public SubscriptionController(SubscriptionService subscriptionService) {
+    public SubscriptionController(SubscriptionService subscriptionService,
+                                  SubscriptionHistoryService subscriptionHistoryService,
+                                  OrderBatchService orderBatchService,
+                                  Optional<OrderStatsAccumulator> orderStatsAccumulator,
+                                  Optional<AtomicOrderStatsService> atomicOrderStatsService,
+                                  IdempotencyService idempotencyService) {
         this.subscriptionService = subscriptionService;
+        this.subscriptionHistoryService = subscriptionHistoryService;
+        this.orderBatchService = orderBatchService;
+        this.orderStatsAccumulator = orderStatsAccumulator.orElse(null);
+        this.atomicOrderStatsService = atomicOrderStatsService.orElse(null);
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
-    @Operation(summary = "Subscribe to a plan", description = "Create a new subscription for the authenticated user")
+    @Operation(summary = "Subscribe to a plan", 
+               description = "Create a new subscription for the authenticated user. " +
+                             "Retries with the same Idempotency-Key return the first response.")
     public ResponseEntity<ApiResponse<SubscriptionResponse>> subscribe(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody SubscriptionRequest request) {
         logger.info("Received subscription request from userId: {}, planId: {}, tierId: {}", 
                    userPrincipal.getId(), request.getPlanId(), request.getTierId());
         
-        SubscriptionResponse response = subscriptionService.subscribe(userPrincipal.getId(), request);
-        
-        logger.info("Subscription created successfully for userId: {}", userPrincipal.getId());
-        return ResponseEntity.ok(ApiResponse.success("Subscription created successfully", response));
+        return idempotencyService.execute(userPrincipal.getId(), "subscribe", idempotencyKey, 
+                                          request, SubscriptionResponse.class, () -> {
+            SubscriptionResponse response = subscriptionService.subscribe(userPrincipal.getId(), request);
+            
+            logger.info("Subscription created successfully for userId: {}", userPrincipal.getId());
+            return ResponseEntity.ok(ApiResponse.success("Subscription created successfully", response));
+        });
     }
 
     @GetMapping("/current")
     @Operation(summary = "Get current subscription", description = "Retrieve the active subscription for the authenticated user")
     public ResponseEntity<ApiResponse<SubscriptionResponse>> getCurrentSubscription(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        logger.info("Received request to get current subscription for userId: {}", userPrincipal.getId());
+        logger.info(LogMarkers.SUBSCRIPTION_READ, "Received request to get current subscription for userId: {}", userPrincipal.getId());
         
         SubscriptionResponse response = subscriptionService.getCurrentSubscription(userPrincipal.getId());
         
@@ -65,12 +98,29 @@ public class SubscriptionController {
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         logger.info("Received request to get subscription history for userId: {}", userPrincipal.getId());
         
-        List<SubscriptionResponse> response = subscriptionService.getSubscriptionHistory(userPrincipal.getId());
+        List<SubscriptionResponse> response = subscriptionHistoryService.getSubscriptionHistory(userPrincipal.getId());
         
         logger.debug("Returning {} subscriptions for userId: {}", response.size(), userPrincipal.getId());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/history/page")
+    @Operation(summary = "Get subscription history page", 
+               description = "Retrieve the authenticated user's subscriptions, newest first, one page at a time")
+    public ResponseEntity<ApiResponse<SubscriptionHistoryResponse>> getSubscriptionHistoryPage(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get subscription history page for userId: {}", userPrincipal.getId());
+        
+        SubscriptionHistoryResponse response = 
+                subscriptionHistoryService.getSubscriptionHistoryPage(userPrincipal.getId(), cursor, size);
+        
+        logger.debug("Returning {} subscriptions for userId: {}", 
+                    response.getSubscriptions().size(), userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PutMapping("/tier")
     @Operation(summary = "Change membership tier", description = "Upgrade or downgrade the membership tier")
     public ResponseEntity<ApiResponse<SubscriptionResponse>> changeTier(
@@ -98,16 +148,46 @@ public class SubscriptionController {
     }
 
     @PostMapping("/order")
-    @Operation(summary = "Update order statistics", description = "Record a new order and update subscription statistics")
+    @Operation(summary = "Update order statistics", 
+               description = "Record a new order and update subscription statistics. " +
+                             "Retries with the same Idempotency-Key return the first response.")
     public ResponseEntity<ApiResponse<SubscriptionResponse>> updateOrderStats(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody OrderUpdateRequest request) {
-        logger.info("Received order update request from userId: {}, orderValue: {}", 
+        logger.info(LogMarkers.ORDER_UPDATE, "Received order update request from userId: {}, orderValue: {}", 
                    userPrincipal.getId(), request.getOrderValue());
         
-        SubscriptionResponse response = subscriptionService.updateOrderStats(userPrincipal.getId(), request);
+        return idempotencyService.execute(userPrincipal.getId(), "order", idempotencyKey, 
+                                          request, SubscriptionResponse.class, () -> {
+            if (orderStatsAccumulator != null 
+                    && orderStatsAccumulator.record(userPrincipal.getId(), request.getOrderValue())) {
+                logger.debug("Order buffered for write-behind for userId: {}", userPrincipal.getId());
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(ApiResponse.success("Order accepted for processing", null));
+            }
+            
+            SubscriptionResponse response = atomicOrderStatsService != null
+                    ? atomicOrderStatsService.updateOrderStats(userPrincipal.getId(), request)
+                    : subscriptionService.updateOrderStats(userPrincipal.getId(), request);
+            
+            logger.info(LogMarkers.ORDER_UPDATE, "Order statistics updated successfully for userId: {}", userPrincipal.getId());
+            return ResponseEntity.ok(ApiResponse.success("Order statistics updated successfully", response));
+        });
+    }
+
+    @PostMapping("/order/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Batch update order statistics", 
+               description = "Record many orders across users in one request, grouped and applied once per user")
+    public ResponseEntity<ApiResponse<BatchOrderUpdateResponse>> updateOrderStatsBatch(
+            @Valid @RequestBody BatchOrderUpdateRequest request) {
+        logger.info("Received batch order update request with {} records", request.getOrders().size());
+        
+        BatchOrderUpdateResponse response = orderBatchService.updateOrderStatsBatch(request);
         
-        logger.info("Order statistics updated successfully for userId: {}", userPrincipal.getId());
-        return ResponseEntity.ok(ApiResponse.success("Order statistics updated successfully", response));
+        logger.info("Batch order update processed - applied: {}, failed: {}", 
+                   response.getAppliedRecords(), response.getFailedRecords());
+        return ResponseEntity.ok(ApiResponse.success("Batch order statistics processed", response));
     }
 }
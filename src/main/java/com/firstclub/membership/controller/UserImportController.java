@@ -0,0 +1,65 @@
+package com.firstclub.membership.controller;
+
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.dto.response.UserImportResponse;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/import")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Import", description = "Bulk onboarding endpoints")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @PostMapping(value = "/users", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import users",
+               description = "Stream users with optional subscriptions as CSV (with header) or NDJSON. " +
+                             "Passwords must already be BCrypt hashes. Invalid rows are reported and skipped")
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        UserImportService.Format format = formatOf(contentType);
+        logger.info("Received bulk user import request as {}", format);
+
+        UserImportResponse response = userImportService.importUsers(body, format);
+
+        logger.info("Bulk user import processed - imported: {}, failed: {}, {} rows/s",
+                   response.getImportedUsers(), response.getFailedRows(), response.getRowsPerSecond());
+        return ResponseEntity.ok(ApiResponse.success("Bulk user import processed", response));
+    }
+
+    private UserImportService.Format formatOf(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+            return UserImportService.Format.NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            return UserImportService.Format.CSV;
+        }
+        throw new BusinessException("Unsupported import content type: " + contentType);
+    }
+}
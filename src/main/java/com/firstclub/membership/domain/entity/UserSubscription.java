@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "user_subscriptions", indexes = {
     @Index(name = "idx_user_status", columnList = "userId,status"),
-    @Index(name = "idx_expiry", columnList = "expiryDate")
+    @Index(name = "idx_expiry", columnList = "expiryDate"),
+    @Index(name = "idx_user_created", columnList = "userId,createdAt,id")
 })
 @Data
 @Builder
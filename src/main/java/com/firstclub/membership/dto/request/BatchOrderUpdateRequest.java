@@ -0,0 +1,19 @@
+package com.firstclub.membership.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderUpdateRequest {
+
+    @NotEmpty(message = "At least one order record is required")
+    private List<OrderRecord> orders;
+}
@@ -0,0 +1,18 @@
+package com.firstclub.membership.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRecord {
+
+    private Long userId;
+    private BigDecimal orderValue;
+}
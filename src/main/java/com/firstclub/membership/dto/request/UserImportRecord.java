@@ -0,0 +1,51 @@
+package com.firstclub.membership.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRecord {
+
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
+    private String email;
+
+    @NotBlank(message = "Password hash is required")
+    @Pattern(regexp = "^\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$", message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+
+    @Size(max = 100, message = "Full name must be at most 100 characters")
+    private String fullName;
+
+    @Size(max = 20, message = "Cohort must be at most 20 characters")
+    private String cohort;
+
+    private Long planId;
+
+    private Long tierId;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime expiryDate;
+
+    @PositiveOrZero(message = "Paid amount must not be negative")
+    private BigDecimal paidAmount;
+}
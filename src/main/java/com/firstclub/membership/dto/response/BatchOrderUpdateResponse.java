@@ -0,0 +1,21 @@
+package com.firstclub.membership.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderUpdateResponse {
+
+    private int totalRecords;
+    private int appliedRecords;
+    private int failedRecords;
+    private int usersUpdated;
+    private List<OrderRecordResult> results;
+}
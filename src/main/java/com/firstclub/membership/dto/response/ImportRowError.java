@@ -0,0 +1,17 @@
+package com.firstclub.membership.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    private long line;
+    private String username;
+    private String message;
+}
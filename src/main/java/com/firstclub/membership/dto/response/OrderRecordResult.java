@@ -0,0 +1,25 @@
+package com.firstclub.membership.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRecordResult {
+
+    private int index;
+    private Long userId;
+    private boolean success;
+    private String message;
+    private Long subscriptionId;
+    private Integer orderCount;
+    private BigDecimal totalOrderValue;
+    private String tierName;
+    private boolean tierUpgraded;
+}
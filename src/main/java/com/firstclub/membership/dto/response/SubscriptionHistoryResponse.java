@@ -0,0 +1,19 @@
+package com.firstclub.membership.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionHistoryResponse {
+
+    private List<SubscriptionResponse> subscriptions;
+    private String nextCursor;
+    private boolean hasMore;
+}
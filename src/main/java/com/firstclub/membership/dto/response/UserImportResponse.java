@@ -0,0 +1,25 @@
+package com.firstclub.membership.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    private long totalRows;
+    private long importedUsers;
+    private long importedSubscriptions;
+    private long failedRows;
+    private String writer;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,149 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Switches the root logger to asynchronous, structured output once the context starts.
+ * The appenders Spring Boot configured (console and, in prod, the log file) are moved
+ * behind an {@link AsyncRingBufferAppender}, optionally re-encoded as JSON lines, and
+ * high-volume event types are sampled by a {@link SamplingTurboFilter}. The original
+ * setup is restored on shutdown.
+ */
+@Component
+@ConditionalOnProperty(name = "app.logging.async.enabled", havingValue = "true")
+public class AsyncLoggingConfigurer {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(AsyncLoggingConfigurer.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final boolean json;
+    private final Map<String, Integer> sampleRates;
+
+    private final List<Appender<ILoggingEvent>> movedAppenders = new ArrayList<>();
+    private final Map<OutputStreamAppender<ILoggingEvent>, Encoder<ILoggingEvent>> originalEncoders = new IdentityHashMap<>();
+    private AsyncRingBufferAppender asyncAppender;
+    private SamplingTurboFilter samplingFilter;
+
+    public AsyncLoggingConfigurer(MeterRegistry meterRegistry,
+                                  @Value("${app.logging.async.buffer-size:8192}") int bufferSize,
+                                  @Value("${app.logging.async.json:true}") boolean json,
+                                  @Value("${app.logging.async.sample-rates:}") String sampleRates) {
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.json = json;
+        this.sampleRates = parseSampleRates(sampleRates);
+    }
+
+    @PostConstruct
+    public synchronized void install() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+
+        asyncAppender = new AsyncRingBufferAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("ASYNC");
+        asyncAppender.setBufferSize(bufferSize);
+
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            movedAppenders.add(it.next());
+        }
+        for (Appender<ILoggingEvent> appender : movedAppenders) {
+            if (json && appender instanceof OutputStreamAppender<ILoggingEvent> stream) {
+                originalEncoders.put(stream, stream.getEncoder());
+                JsonLineEncoder encoder = new JsonLineEncoder();
+                encoder.setContext(context);
+                encoder.start();
+                stream.setEncoder(encoder);
+            }
+            asyncAppender.addAppender(appender);
+        }
+        asyncAppender.start();
+        root.addAppender(asyncAppender);
+        for (Appender<ILoggingEvent> appender : movedAppenders) {
+            root.detachAppender(appender);
+        }
+
+        samplingFilter = new SamplingTurboFilter(sampleRates);
+        samplingFilter.setContext(context);
+        samplingFilter.setName("SAMPLING");
+        samplingFilter.start();
+        context.addTurboFilter(samplingFilter);
+
+        FunctionCounter.builder("membership.logging.dropped", asyncAppender, AsyncRingBufferAppender::getDroppedCount)
+                .description("Log events dropped because the async buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("membership.logging.sampled_out", samplingFilter, SamplingTurboFilter::getSampledOutCount)
+                .description("Log events skipped by per-event-type sampling")
+                .register(meterRegistry);
+        Gauge.builder("membership.logging.buffer.size", asyncAppender, AsyncRingBufferAppender::getQueueSize)
+                .description("Log events waiting in the async buffer")
+                .register(meterRegistry);
+
+        logger.info("Async logging enabled - buffer: {}, json: {}, sampled markers: {}",
+                   bufferSize, json, sampleRates.keySet());
+    }
+
+    @PreDestroy
+    public synchronized void restore() {
+        if (asyncAppender == null) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        context.getTurboFilterList().remove(samplingFilter);
+        root.detachAppender(asyncAppender);
+        asyncAppender.stop();
+        for (Appender<ILoggingEvent> appender : movedAppenders) {
+            asyncAppender.detachAppender(appender);
+            if (appender instanceof OutputStreamAppender<ILoggingEvent> stream && originalEncoders.containsKey(stream)) {
+                stream.setEncoder(originalEncoders.get(stream));
+            }
+            root.addAppender(appender);
+        }
+        movedAppenders.clear();
+        originalEncoders.clear();
+        asyncAppender = null;
+    }
+
+    public long getDroppedCount() {
+        return asyncAppender == null ? 0 : asyncAppender.getDroppedCount();
+    }
+
+    static Map<String, Integer> parseSampleRates(String sampleRates) {
+        Map<String, Integer> rates = new LinkedHashMap<>();
+        if (!StringUtils.hasText(sampleRates)) {
+            return rates;
+        }
+        for (String rule : sampleRates.split(",")) {
+            int separator = rule.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Sample rate must be 'marker=N': " + rule);
+            }
+            rates.put(rule.substring(0, separator).trim(), Integer.parseInt(rule.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+}
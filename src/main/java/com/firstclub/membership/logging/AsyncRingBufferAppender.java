@@ -0,0 +1,160 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands log events to a single writer thread through a bounded ring buffer. Unlike
+ * Logback's {@code AsyncAppender}, a full buffer never blocks the caller and never
+ * silently discards by level: the event is dropped and counted in {@link #getDroppedCount()}.
+ *
+ * <p>The message, MDC and thread name are captured on the calling thread, so the writer
+ * never touches caller-owned state such as lazy entity proxies.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private int bufferSize = 8192;
+    private long maxFlushTimeMs = 1000;
+    private BlockingQueue<ILoggingEvent> buffer;
+    private Thread writer;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setMaxFlushTimeMs(long maxFlushTimeMs) {
+        this.maxFlushTimeMs = maxFlushTimeMs;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        BlockingQueue<ILoggingEvent> current = buffer;
+        return current == null ? 0 : current.size();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (bufferSize < 1) {
+            addError("Invalid buffer size " + bufferSize);
+            return;
+        }
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        writer = new Thread(this::drain, "async-log-writer");
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        writer.interrupt();
+        try {
+            writer.join(maxFlushTimeMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Writer did not finish within " + maxFlushTimeMs + " ms, " + buffer.size() + " events discarded");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>(DRAIN_BATCH);
+        while (isStarted()) {
+            try {
+                ILoggingEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, DRAIN_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        buffer.drainTo(batch);
+        write(batch);
+    }
+
+    private void write(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Failed to write log event", e);
+            }
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
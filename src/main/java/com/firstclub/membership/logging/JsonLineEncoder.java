@@ -0,0 +1,90 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.event.KeyValuePair;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one JSON object per line. {@code event} is the unformatted message template, which
+ * identifies the event type for aggregation, and {@code message} is the
+ * formatted text. SLF4J key-value pairs are written as their own fields, so they should be
+ * immutable values rather than entities.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("event", event.getMessage());
+            json.writeStringField("message", event.getFormattedMessage());
+            List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+            if (keyValuePairs != null) {
+                for (KeyValuePair pair : keyValuePairs) {
+                    writeValue(json, pair.key, pair.value);
+                }
+            }
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null && !mdc.isEmpty()) {
+                json.writeObjectFieldStart("mdc");
+                for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                    json.writeStringField(entry.getKey(), entry.getValue());
+                }
+                json.writeEndObject();
+            }
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                json.writeStringField("exception", ThrowableProxyUtil.asString(throwable));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    private static void writeValue(JsonGenerator json, String key, Object value) throws IOException {
+        json.writeFieldName(key);
+        if (value instanceof Integer || value instanceof Long) {
+            json.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            json.writeNumber(decimal);
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else {
+            json.writeString(String.valueOf(value));
+        }
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code N} INFO/DEBUG/TRACE events carrying a configured marker (see
+ * {@link LogMarkers}), so high-volume event types such as order updates are sampled before
+ * the event is even created. WARN and ERROR are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Rule> rules;
+    private final AtomicLong sampledOut = new AtomicLong();
+
+    public SamplingTurboFilter(Map<String, Integer> keepOneIn) {
+        this.rules = keepOneIn.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .map(entry -> new Rule(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        for (Rule rule : rules) {
+            if (marker.contains(rule.markerName)) {
+                if (rule.seen.getAndIncrement() % rule.keepOneIn == 0) {
+                    return FilterReply.NEUTRAL;
+                }
+                sampledOut.incrementAndGet();
+                return FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static final class Rule {
+
+        private final String markerName;
+        private final int keepOneIn;
+        private final AtomicLong seen = new AtomicLong();
+
+        private Rule(String markerName, int keepOneIn) {
+            this.markerName = markerName;
+            this.keepOneIn = keepOneIn;
+        }
+    }
+}
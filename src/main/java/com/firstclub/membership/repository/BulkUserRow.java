@@ -0,0 +1,27 @@
+package com.firstclub.membership.repository;
+
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One validated import row: a user and, when {@code planId} is set, their subscription.
+ */
+public record BulkUserRow(long line,
+                          String username,
+                          String email,
+                          String passwordHash,
+                          String fullName,
+                          String cohort,
+                          Long planId,
+                          Long tierId,
+                          SubscriptionStatus status,
+                          LocalDateTime startDate,
+                          LocalDateTime expiryDate,
+                          BigDecimal paidAmount) {
+
+    public boolean hasSubscription() {
+        return planId != null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.firstclub.membership.repository;
+
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A subscription written by {@link UserBulkRepository}, with the ids it was given.
+ */
+public record ImportedSubscription(long id,
+                                   long userId,
+                                   SubscriptionStatus status,
+                                   LocalDateTime expiryDate) {
+}
@@ -0,0 +1,248 @@
+package com.firstclub.membership.repository;
+
+import com.firstclub.membership.constants.AppConstants;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes imported users, their roles and subscriptions with plain JDBC, bypassing the
+ * persistence context. Every batch joins the caller's transaction.
+ *
+ * <p>On PostgreSQL the rows are streamed with {@code COPY ... FROM STDIN}, and ids are
+ * reserved from the identity sequences in one round trip per batch. Elsewhere (H2
+ * locally) the rows go through JDBC batch inserts, and user ids are read back from the
+ * batch's generated keys.
+ */
+@Repository
+public class UserBulkRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkRepository.class);
+
+    public static final String WRITER_JDBC_BATCH = "jdbc-batch";
+    public static final String WRITER_POSTGRES_COPY = "postgres-copy";
+
+    private static final String INSERT_USER = "INSERT INTO users " +
+            "(username, email, password, full_name, cohort, active, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, TRUE, 0, ?, ?)";
+    private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+    private static final String INSERT_SUBSCRIPTION = "INSERT INTO user_subscriptions " +
+            "(user_id, plan_id, tier_id, status, start_date, expiry_date, paid_amount, order_count, " +
+            "total_order_value, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?)";
+
+    private static final String NEXT_IDS = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+    private static final String COPY_USERS = "COPY users " +
+            "(id, username, email, password, full_name, cohort, active, version, created_at, updated_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_ROLES = "COPY user_roles (user_id, role) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_SUBSCRIPTIONS = "COPY user_subscriptions " +
+            "(id, user_id, plan_id, tier_id, status, start_date, expiry_date, paid_amount, order_count, " +
+            "total_order_value, version, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean copyEnabled;
+
+    public UserBulkRepository(JdbcTemplate jdbcTemplate,
+                              @Value("${app.import.postgres-copy.enabled:true}") boolean copyEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyEnabled = copyEnabled;
+    }
+
+    public String writerName() {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                usesCopy(connection) ? WRITER_POSTGRES_COPY : WRITER_JDBC_BATCH);
+    }
+
+    /**
+     * Inserts the rows and returns the subscriptions written. Must be called inside a
+     * transaction; a failure leaves the whole batch to be rolled back.
+     */
+    public List<ImportedSubscription> insert(List<BulkUserRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<ImportedSubscription>>) connection -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (usesCopy(connection)) {
+                return copy(connection, rows, now);
+            }
+            return batchInsert(connection, rows, now);
+        });
+    }
+
+    private boolean usesCopy(Connection connection) throws SQLException {
+        return copyEnabled && connection.isWrapperFor(PGConnection.class);
+    }
+
+    private List<ImportedSubscription> batchInsert(Connection connection, List<BulkUserRow> rows,
+                                                   LocalDateTime now) throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        long[] userIds = new long[rows.size()];
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, new String[]{"id"})) {
+            for (BulkUserRow row : rows) {
+                statement.setString(1, row.username());
+                statement.setString(2, row.email());
+                statement.setString(3, row.passwordHash());
+                statement.setString(4, row.fullName());
+                statement.setString(5, row.cohort());
+                statement.setTimestamp(6, timestamp);
+                statement.setTimestamp(7, timestamp);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (int i = 0; i < userIds.length; i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Expected " + userIds.length + " generated user ids, got " + i);
+                    }
+                    userIds[i] = keys.getLong(1);
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ROLE)) {
+            for (long userId : userIds) {
+                statement.setLong(1, userId);
+                statement.setString(2, AppConstants.ROLE_USER);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        List<BulkUserRow> subscribed = new ArrayList<>(rows.size());
+        List<Long> subscribedUserIds = new ArrayList<>(rows.size());
+        List<ImportedSubscription> subscriptions = new ArrayList<>(rows.size());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SUBSCRIPTION, new String[]{"id"})) {
+            for (int i = 0; i < rows.size(); i++) {
+                BulkUserRow row = rows.get(i);
+                if (!row.hasSubscription()) {
+                    continue;
+                }
+                statement.setLong(1, userIds[i]);
+                statement.setLong(2, row.planId());
+                statement.setLong(3, row.tierId());
+                statement.setString(4, row.status().name());
+                statement.setTimestamp(5, Timestamp.valueOf(row.startDate()));
+                statement.setTimestamp(6, Timestamp.valueOf(row.expiryDate()));
+                if (row.paidAmount() == null) {
+                    statement.setNull(7, Types.DECIMAL);
+                } else {
+                    statement.setBigDecimal(7, row.paidAmount());
+                }
+                statement.setTimestamp(8, timestamp);
+                statement.setTimestamp(9, timestamp);
+                statement.addBatch();
+                subscribed.add(row);
+                subscribedUserIds.add(userIds[i]);
+            }
+            if (!subscribed.isEmpty()) {
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < subscribed.size(); i++) {
+                        if (!keys.next()) {
+                            throw new SQLException("Expected " + subscribed.size() + " generated subscription ids, got " + i);
+                        }
+                        BulkUserRow row = subscribed.get(i);
+                        subscriptions.add(new ImportedSubscription(
+                                keys.getLong(1), subscribedUserIds.get(i), row.status(), row.expiryDate()));
+                    }
+                }
+            }
+        }
+        logger.debug("Batch-inserted {} users and {} subscriptions", rows.size(), subscriptions.size());
+        return subscriptions;
+    }
+
+    private List<ImportedSubscription> copy(Connection connection, List<BulkUserRow> rows,
+                                            LocalDateTime now) throws SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        int subscriptionCount = (int) rows.stream().filter(BulkUserRow::hasSubscription).count();
+        long[] userIds = nextIds(connection, "users", rows.size());
+        long[] subscriptionIds = nextIds(connection, "user_subscriptions", subscriptionCount);
+
+        StringBuilder users = new StringBuilder(rows.size() * 160);
+        StringBuilder roles = new StringBuilder(rows.size() * 24);
+        StringBuilder subscriptions = new StringBuilder(subscriptionCount * 128);
+        List<ImportedSubscription> imported = new ArrayList<>(subscriptionCount);
+        int subscriptionIndex = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            BulkUserRow row = rows.get(i);
+            csvLine(users, userIds[i], row.username(), row.email(), row.passwordHash(), row.fullName(),
+                    row.cohort(), true, 0, now, now);
+            csvLine(roles, userIds[i], AppConstants.ROLE_USER);
+            if (row.hasSubscription()) {
+                long subscriptionId = subscriptionIds[subscriptionIndex++];
+                csvLine(subscriptions, subscriptionId, userIds[i], row.planId(), row.tierId(),
+                        row.status().name(), row.startDate(), row.expiryDate(), row.paidAmount(), 0,
+                        BigDecimal.ZERO, 0, now, now);
+                imported.add(new ImportedSubscription(subscriptionId, userIds[i], row.status(), row.expiryDate()));
+            }
+        }
+
+        try {
+            copyManager.copyIn(COPY_USERS, new StringReader(users.toString()));
+            copyManager.copyIn(COPY_ROLES, new StringReader(roles.toString()));
+            if (subscriptionCount > 0) {
+                copyManager.copyIn(COPY_SUBSCRIPTIONS, new StringReader(subscriptions.toString()));
+            }
+        } catch (IOException e) {
+            throw new SQLException("COPY failed: " + e.getMessage(), e);
+        }
+        logger.debug("Copied {} users and {} subscriptions", rows.size(), subscriptionCount);
+        return imported;
+    }
+
+    private long[] nextIds(Connection connection, String table, int count) throws SQLException {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_IDS)) {
+            statement.setString(1, table);
+            statement.setInt(2, count);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                for (int i = 0; i < count && resultSet.next(); i++) {
+                    ids[i] = resultSet.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void csvLine(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String text) {
+                out.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+}
@@ -2,13 +2,20 @@ package com.firstclub.membership.repository;
 
 import com.firstclub.membership.domain.entity.User;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -24,4 +31,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT u FROM User u WHERE u.id = :id")
     Optional<User> findByIdWithLock(@Param("id") Long id);
+
+    @Query("SELECT u.id AS id, u.cohort AS cohort FROM User u WHERE u.id IN :ids")
+    List<CohortView> findCohortsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.active AS active, u.updatedAt AS updatedAt FROM User u " +
+           "WHERE u.active = false OR u.updatedAt > :since")
+    List<RevocationView> findRevocationCandidates(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    Stream<IdentityView> streamIdentities();
+
+    interface CohortView {
+        Long getId();
+        String getCohort();
+    }
+
+    interface RevocationView {
+        Long getId();
+        Boolean getActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface IdentityView {
+        String getUsername();
+        String getEmail();
+    }
 }
@@ -1,21 +1,38 @@
 package com.firstclub.membership.repository;
 
+import com.firstclub.membership.domain.entity.MembershipTier;
 import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.domain.enums.PlanDuration;
 import com.firstclub.membership.domain.enums.SubscriptionStatus;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserSubscriptionRepository extends JpaRepository<UserSubscription, Long> {
 
+    String HISTORY_SELECT = "SELECT s.id AS id, s.user.id AS userId, s.status AS status, " +
+           "s.startDate AS startDate, s.expiryDate AS expiryDate, s.paidAmount AS paidAmount, " +
+           "s.orderCount AS orderCount, s.totalOrderValue AS totalOrderValue, s.createdAt AS createdAt, " +
+           "p.id AS planId, p.name AS planName, p.description AS planDescription, " +
+           "p.duration AS planDuration, p.price AS planPrice, p.active AS planActive, " +
+           "t.id AS tierId, t.name AS tierName, t.description AS tierDescription, " +
+           "t.tierLevel AS tierLevel, t.minOrderCount AS tierMinOrderCount, " +
+           "t.minOrderValue AS tierMinOrderValue, t.requiredCohort AS tierRequiredCohort, " +
+           "t.active AS tierActive " +
+           "FROM UserSubscription s JOIN s.plan p JOIN s.tier t ";
+
     @Query("SELECT s FROM UserSubscription s WHERE s.user.id = :userId " +
            "AND s.status = 'ACTIVE' AND s.expiryDate > :now " +
            "ORDER BY s.expiryDate DESC")
@@ -32,13 +49,127 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
         @Param("now") LocalDateTime now
     );
 
-    @Query("SELECT s FROM UserSubscription s WHERE s.user.id = :userId ORDER BY s.createdAt DESC")
-    List<UserSubscription> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSubscription s WHERE s.user.id IN :userIds " +
+           "AND s.status = 'ACTIVE' AND s.expiryDate > :now " +
+           "ORDER BY s.user.id ASC, s.expiryDate DESC")
+    List<UserSubscription> findActiveSubscriptionsWithLock(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("now") LocalDateTime now
+    );
+
+    @Query(HISTORY_SELECT + "WHERE s.user.id = :userId " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<HistoryView> findHistoryFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query(HISTORY_SELECT + "WHERE s.user.id = :userId " +
+           "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<HistoryView> findHistoryPageAfter(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT s.id AS id, s.user.id AS userId, s.expiryDate AS expiryDate FROM UserSubscription s " +
+           "WHERE s.id > :afterId AND s.status = 'ACTIVE' AND s.expiryDate <= :now " +
+           "ORDER BY s.id ASC")
+    List<ExpiryView> findDueForExpiryAfter(
+        @Param("afterId") Long afterId,
+        @Param("now") LocalDateTime now,
+        Limit limit
+    );
 
-    @Query("SELECT s FROM UserSubscription s WHERE s.status = :status " +
-           "AND s.expiryDate <= :expiryDate")
-    List<UserSubscription> findExpiredSubscriptions(
-        @Param("status") SubscriptionStatus status,
-        @Param("expiryDate") LocalDateTime expiryDate
+    @Query("SELECT s.id AS id, s.user.id AS userId, s.expiryDate AS expiryDate FROM UserSubscription s " +
+           "WHERE s.status = 'ACTIVE' AND s.expiryDate > :from AND s.expiryDate <= :to " +
+           "ORDER BY s.expiryDate ASC, s.id ASC")
+    List<ExpiryView> findUpcomingExpiries(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        Limit limit
     );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserSubscription s SET s.status = 'EXPIRED', s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.id IN :ids AND s.status = 'ACTIVE' AND s.expiryDate <= :now")
+    int expireDueByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserSubscription s SET s.orderCount = s.orderCount + 1, " +
+           "s.totalOrderValue = s.totalOrderValue + :orderValue, s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.user.id = :userId AND s.status = 'ACTIVE' AND s.expiryDate > :now")
+    int incrementOrderStats(
+        @Param("userId") Long userId,
+        @Param("orderValue") BigDecimal orderValue,
+        @Param("now") LocalDateTime now
+    );
+
+    @Query("SELECT s.id AS id, s.plan.id AS planId, t.id AS tierId, t.tierLevel AS tierLevel, " +
+           "s.status AS status, s.startDate AS startDate, s.expiryDate AS expiryDate, " +
+           "s.paidAmount AS paidAmount, s.orderCount AS orderCount, s.totalOrderValue AS totalOrderValue " +
+           "FROM UserSubscription s JOIN s.tier t WHERE s.user.id = :userId " +
+           "AND s.status = 'ACTIVE' AND s.expiryDate > :now " +
+           "ORDER BY s.expiryDate DESC")
+    List<OrderStatsView> findActiveOrderStats(
+        @Param("userId") Long userId,
+        @Param("now") LocalDateTime now,
+        Limit limit
+    );
+
+    @Modifying
+    @Query("UPDATE UserSubscription s SET s.tier = :tier, s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.tier.id IN " +
+           "(SELECT t.id FROM MembershipTier t WHERE t.tierLevel < :tierLevel)")
+    int upgradeTierIfLower(
+        @Param("id") Long id,
+        @Param("tier") MembershipTier tier,
+        @Param("tierLevel") Integer tierLevel,
+        @Param("now") LocalDateTime now
+    );
+
+    interface OrderStatsView {
+        Long getId();
+        Long getPlanId();
+        Long getTierId();
+        Integer getTierLevel();
+        SubscriptionStatus getStatus();
+        LocalDateTime getStartDate();
+        LocalDateTime getExpiryDate();
+        BigDecimal getPaidAmount();
+        Integer getOrderCount();
+        BigDecimal getTotalOrderValue();
+    }
+
+    interface ExpiryView {
+        Long getId();
+        Long getUserId();
+        LocalDateTime getExpiryDate();
+    }
+
+    interface HistoryView {
+        Long getId();
+        Long getUserId();
+        SubscriptionStatus getStatus();
+        LocalDateTime getStartDate();
+        LocalDateTime getExpiryDate();
+        BigDecimal getPaidAmount();
+        Integer getOrderCount();
+        BigDecimal getTotalOrderValue();
+        LocalDateTime getCreatedAt();
+        Long getPlanId();
+        String getPlanName();
+        String getPlanDescription();
+        PlanDuration getPlanDuration();
+        BigDecimal getPlanPrice();
+        Boolean getPlanActive();
+        Long getTierId();
+        String getTierName();
+        String getTierDescription();
+        Integer getTierLevel();
+        Integer getTierMinOrderCount();
+        BigDecimal getTierMinOrderValue();
+        String getTierRequiredCohort();
+        Boolean getTierActive();
+    }
 }
@@ -0,0 +1,302 @@
+package com.firstclub.membership.scheduler;
+
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import com.firstclub.membership.service.SubscriptionChangedEvent;
+import com.firstclub.membership.service.SubscriptionExpiryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires subscriptions at their due time from an in-memory hashed timing wheel.
+ *
+ * <p>Only expiries inside a sliding horizon are held, capped at {@code max-entries}, so
+ * memory stays bounded no matter how many subscriptions are active. The window is
+ * topped up from {@code user_subscriptions} periodically. Subscribe, cancel and tier
+ * changes update the wheel after commit. Stale entries are harmless because the
+ * expiring {@code UPDATE} re-checks status and expiry date. Anything the wheel misses
+ * is picked up by the reconciliation sweep in {@link SubscriptionExpiryScheduler}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.subscriptions.expiry.wheel.enabled", havingValue = "true")
+public class SubscriptionExpiryWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionExpiryWheel.class);
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final SubscriptionExpiryService expiryService;
+    private final Clock clock;
+    private final long tickMs;
+    private final long horizonTicks;
+    private final long refillIntervalMs;
+    private final int batchSize;
+    private final int maxEntries;
+
+    private final Set<Long>[] slots;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Long> overdue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "subscription-expiry-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter overflowCounter;
+
+    private volatile long processingTick;
+    private volatile long loadedUntilTick;
+
+    @Autowired
+    public SubscriptionExpiryWheel(UserSubscriptionRepository subscriptionRepository,
+                                   SubscriptionExpiryService expiryService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.subscriptions.expiry.wheel.tick-ms:1000}") long tickMs,
+                                   @Value("${app.subscriptions.expiry.wheel.horizon-ms:7200000}") long horizonMs,
+                                   @Value("${app.subscriptions.expiry.wheel.refill-interval-ms:1800000}") long refillIntervalMs,
+                                   @Value("${app.subscriptions.expiry.wheel.batch-size:100}") int batchSize,
+                                   @Value("${app.subscriptions.expiry.wheel.max-entries:1000000}") int maxEntries) {
+        this(subscriptionRepository, expiryService, meterRegistry, Clock.systemDefaultZone(),
+             tickMs, horizonMs, refillIntervalMs, batchSize, maxEntries);
+    }
+
+    @SuppressWarnings("unchecked")
+    SubscriptionExpiryWheel(UserSubscriptionRepository subscriptionRepository,
+                            SubscriptionExpiryService expiryService,
+                            MeterRegistry meterRegistry,
+                            Clock clock,
+                            long tickMs,
+                            long horizonMs,
+                            long refillIntervalMs,
+                            int batchSize,
+                            int maxEntries) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.expiryService = expiryService;
+        this.clock = clock;
+        this.tickMs = tickMs;
+        this.horizonTicks = Math.max(1, horizonMs / tickMs);
+        this.refillIntervalMs = refillIntervalMs;
+        this.batchSize = batchSize;
+        this.maxEntries = maxEntries;
+
+        this.slots = new Set[(int) horizonTicks + 2];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.processingTick = currentTick();
+        this.loadedUntilTick = processingTick;
+
+        Gauge.builder("membership.subscriptions.expiry.wheel.entries", entries, Map::size)
+                .description("Subscriptions scheduled on the expiry wheel")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("membership.subscriptions.expiry.wheel.overflow")
+                .description("Expiries not scheduled because the wheel was full; left to the reconciliation sweep")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        logger.info("Starting subscription expiry wheel - tick: {} ms, horizon: {} ticks, max entries: {}",
+                   tickMs, horizonTicks, maxEntries);
+        executor.execute(() -> {
+            expiryService.expireDueSubscriptions(LocalDateTime.now(clock));
+            refillSafely();
+        });
+        executor.scheduleWithFixedDelay(this::refillSafely, refillIntervalMs, refillIntervalMs, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        if (event.status() == SubscriptionStatus.ACTIVE) {
+            schedule(event.subscriptionId(), event.userId(), event.expiryDate());
+        } else {
+            cancel(event.subscriptionId());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void schedule(Long subscriptionId, Long userId, LocalDateTime expiryDate) {
+        long dueTick = dueTick(expiryDate);
+        if (dueTick > loadedUntilTick) {
+            logger.trace("Expiry for subscription {} is beyond the loaded window", subscriptionId);
+            return;
+        }
+        if (!entries.containsKey(subscriptionId) && entries.size() >= maxEntries) {
+            overflowCounter.increment();
+            return;
+        }
+        long slotTick = Math.max(dueTick, processingTick + 1);
+        Entry previous = entries.put(subscriptionId, new Entry(userId, slotTick));
+        if (previous != null && previous.slotTick != slotTick) {
+            slots[slotIndex(previous.slotTick)].remove(subscriptionId);
+        }
+        slots[slotIndex(slotTick)].add(subscriptionId);
+        if (processingTick >= slotTick) {
+            overdue.add(subscriptionId);
+        }
+    }
+
+    void cancel(Long subscriptionId) {
+        Entry entry = entries.remove(subscriptionId);
+        if (entry != null) {
+            slots[slotIndex(entry.slotTick)].remove(subscriptionId);
+        }
+    }
+
+    void refill() {
+        long targetTick = currentTick() + horizonTicks;
+        long fromTick = loadedUntilTick;
+        if (targetTick <= fromTick) {
+            return;
+        }
+
+        int capacity = maxEntries - entries.size();
+        if (capacity <= 0) {
+            logger.warn("Expiry wheel full with {} entries, retrying the window on the next refill", entries.size());
+            return;
+        }
+        // Accept change events for the new window while it loads, so a subscription committed
+        // after the query's snapshot is not lost; rolled back below if the load is incomplete
+        loadedUntilTick = targetTick;
+        List<UserSubscriptionRepository.ExpiryView> upcoming;
+        try {
+            upcoming = subscriptionRepository.findUpcomingExpiries(
+                    toDateTime(fromTick), toDateTime(targetTick), Limit.of(capacity));
+        } catch (RuntimeException e) {
+            loadedUntilTick = fromTick;
+            throw e;
+        }
+        for (UserSubscriptionRepository.ExpiryView view : upcoming) {
+            schedule(view.getId(), view.getUserId(), view.getExpiryDate());
+        }
+        if (upcoming.size() == capacity) {
+            // Rows are ordered by expiry, so only the ticks before the last loaded one are complete
+            long lastTick = dueTick(upcoming.get(upcoming.size() - 1).getExpiryDate());
+            loadedUntilTick = Math.max(fromTick, lastTick - 1);
+            logger.warn("Expiry wheel reached {} entries while loading, window loaded up to tick {} of {}",
+                       maxEntries, loadedUntilTick, targetTick);
+        }
+        logger.info("Expiry wheel loaded {} upcoming expiries, now holding {}", upcoming.size(), entries.size());
+    }
+
+    void tick() {
+        long nowTick = currentTick();
+        List<Long> subscriptionIds = new ArrayList<>(batchSize);
+        List<Long> userIds = new ArrayList<>(batchSize);
+        for (long tick = processingTick + 1; tick <= nowTick; tick++) {
+            processingTick = tick;
+            Set<Long> slot = slots[slotIndex(tick)];
+            for (Long subscriptionId : slot) {
+                collectIfDue(subscriptionId, tick, subscriptionIds, userIds);
+            }
+        }
+        Long subscriptionId;
+        while ((subscriptionId = overdue.poll()) != null) {
+            collectIfDue(subscriptionId, processingTick, subscriptionIds, userIds);
+        }
+        expireBatch(subscriptionIds, userIds);
+    }
+
+    private void collectIfDue(Long subscriptionId, long tick, List<Long> subscriptionIds, List<Long> userIds) {
+        Entry entry = entries.get(subscriptionId);
+        if (entry != null && entry.slotTick > tick) {
+            return;
+        }
+        slots[slotIndex(tick)].remove(subscriptionId);
+        if (entry == null || !entries.remove(subscriptionId, entry)) {
+            return;
+        }
+        slots[slotIndex(entry.slotTick)].remove(subscriptionId);
+        subscriptionIds.add(subscriptionId);
+        userIds.add(entry.userId);
+        if (subscriptionIds.size() >= batchSize) {
+            expireBatch(subscriptionIds, userIds);
+        }
+    }
+
+    private void expireBatch(List<Long> subscriptionIds, List<Long> userIds) {
+        if (subscriptionIds.isEmpty()) {
+            return;
+        }
+        try {
+            int expired = expiryService.expireSubscriptions(List.copyOf(subscriptionIds), List.copyOf(userIds),
+                                                            LocalDateTime.now(clock));
+            logger.debug("Expiry wheel expired {} of {} due subscriptions", expired, subscriptionIds.size());
+        } catch (RuntimeException e) {
+            logger.error("Expiry wheel batch of {} failed, leaving it to the reconciliation sweep - error: {}",
+                        subscriptionIds.size(), e.getMessage(), e);
+        }
+        subscriptionIds.clear();
+        userIds.clear();
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            logger.error("Expiry wheel tick failed - error: {}", e.getMessage(), e);
+        }
+    }
+
+    private void refillSafely() {
+        try {
+            refill();
+        } catch (RuntimeException e) {
+            logger.error("Expiry wheel refill failed - error: {}", e.getMessage(), e);
+        }
+    }
+
+    private long currentTick() {
+        return clock.millis() / tickMs;
+    }
+
+    private long dueTick(LocalDateTime expiryDate) {
+        long dueMs = expiryDate.atZone(clock.getZone()).toInstant().toEpochMilli();
+        return Math.floorDiv(dueMs + tickMs - 1, tickMs);
+    }
+
+    private LocalDateTime toDateTime(long tick) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(tick * tickMs), clock.getZone());
+    }
+
+    private int slotIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    private record Entry(Long userId, long slotTick) {
+    }
+}
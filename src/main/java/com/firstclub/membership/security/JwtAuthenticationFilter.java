@@ -1,5 +1,8 @@
 package com.firstclub.membership.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,18 +18,43 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationService revocationService;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+    private final Timer failedTimer;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, 
                                   CustomUserDetailsService customUserDetailsService) {
+        this(tokenProvider, customUserDetailsService, null);
+    }
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, 
+                                  CustomUserDetailsService customUserDetailsService,
+                                  TokenRevocationService revocationService) {
+        this(tokenProvider, customUserDetailsService, revocationService, Metrics.globalRegistry);
+    }
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                  CustomUserDetailsService customUserDetailsService,
+                                  TokenRevocationService revocationService,
+                                  MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.revocationService = revocationService;
+        this.authenticatedTimer = authTimer(meterRegistry, "authenticated");
+        this.rejectedTimer = authTimer(meterRegistry, "rejected");
+        this.failedTimer = authTimer(meterRegistry, "error");
     }
 
     @Override
@@ -35,28 +63,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String requestURI = request.getRequestURI();
         logger.debug("Processing authentication for request: {} {}", request.getMethod(), requestURI);
         
+        long startNanos = System.nanoTime();
+        Timer outcome = null;
         try {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
                 logger.debug("JWT token found in request");
+                outcome = rejectedTimer;
                 
-                if (tokenProvider.validateToken(jwt)) {
-                    logger.debug("JWT token is valid, extracting user information");
-                    
-                    Long userId = tokenProvider.getUserIdFromToken(jwt);
-                    logger.debug("Extracted userId from token: {}", userId);
-                    
-                    UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                    logger.debug("Loaded user details for userId: {}, username: {}", 
-                               userId, userDetails.getUsername());
+                Optional<JwtClaims> claims = tokenProvider.parseToken(jwt);
+                if (claims.isPresent()) {
+                    Long userId = claims.get().userId();
+                    logger.debug("JWT token is valid, extracted userId from token: {}", userId);
                     
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    UserDetails userDetails = resolveUser(claims.get());
+                    if (userDetails != null) {
+                        logger.debug("Resolved user details for userId: {}, username: {}", 
+                                   userId, userDetails.getUsername());
+                        
+                        UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("Authentication set in security context for user: {}", userDetails.getUsername());
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        outcome = authenticatedTimer;
+                        logger.debug("Authentication set in security context for user: {}", userDetails.getUsername());
+                    } else {
+                        logger.warn("Revoked JWT token for userId: {} in request to: {}", userId, requestURI);
+                    }
                 } else {
                     logger.warn("Invalid JWT token in request to: {}", requestURI);
                 }
@@ -67,11 +102,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Failed to set user authentication in security context for request: {} - Error: {}", 
                         requestURI, ex.getMessage());
             logger.debug("Authentication error details", ex);
+            outcome = failedTimer;
+        }
+        if (outcome != null) {
+            outcome.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(JwtClaims claims) {
+        if (revocationService == null || !claims.hasPrincipalClaims()) {
+            return customUserDetailsService.loadUserById(claims.userId());
+        }
+        if (revocationService.isRevoked(claims)) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(claims);
+    }
+
+    private static Timer authTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("membership.auth.jwt")
+                .description("Time taken to validate a bearer token and resolve its principal")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,12 @@
+package com.firstclub.membership.security;
+
+import java.util.Date;
+import java.util.List;
+
+public record JwtClaims(Long userId, String username, List<String> roles, String cohort,
+                        Date issuedAt, Date expiresAt) {
+
+    public boolean hasPrincipalClaims() {
+        return username != null && roles != null;
+    }
+}
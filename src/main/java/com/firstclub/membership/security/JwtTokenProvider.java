@@ -1,31 +1,44 @@
 package com.firstclub.membership.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private static final String CLAIM_USERNAME = "username";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_COHORT = "cohort";
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -37,25 +50,59 @@ public class JwtTokenProvider {
                     userPrincipal.getId(), userPrincipal.getUsername());
         logger.trace("Token expiry date: {}", expiryDate);
 
-        String token = Jwts.builder()
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        JwtBuilder builder = Jwts.builder()
                 .subject(Long.toString(userPrincipal.getId()))
+                .claim(CLAIM_USERNAME, userPrincipal.getUsername())
+                .claim(CLAIM_ROLES, roles);
+        if (userPrincipal.getCohort() != null) {
+            builder.claim(CLAIM_COHORT, userPrincipal.getCohort());
+        }
+
+        String token = builder
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
 
         logger.debug("JWT token generated successfully for userId: {}", userPrincipal.getId());
         return token;
     }
 
+    public Optional<JwtClaims> parseToken(String token) {
+        try {
+            logger.trace("Verifying and parsing JWT token");
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            JwtClaims parsed = new JwtClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get(CLAIM_USERNAME, String.class),
+                    rolesOf(claims),
+                    claims.get(CLAIM_COHORT, String.class),
+                    claims.getIssuedAt(),
+                    claims.getExpiration()
+            );
+            logger.trace("JWT token verified for userId: {}", parsed.userId());
+            return Optional.of(parsed);
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.warn("Invalid JWT token - {}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+            logger.debug("Token validation error details", ex);
+        }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> rolesOf(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        return roles instanceof List<?> list ? (List<String>) list : null;
+    }
+
     public Long getUserIdFromToken(String token) {
         logger.trace("Extracting userId from JWT token");
         
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
 
         Long userId = Long.parseLong(claims.getSubject());
         logger.trace("Extracted userId: {} from token", userId);
@@ -63,18 +110,6 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        try {
-            logger.trace("Validating JWT token");
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            logger.trace("JWT token validation successful");
-            return true;
-        } catch (Exception ex) {
-            logger.warn("Invalid JWT token - {}: {}", ex.getClass().getSimpleName(), ex.getMessage());
-            logger.debug("Token validation error details", ex);
-        }
-        return false;
+        return parseToken(token).isPresent();
     }
 }
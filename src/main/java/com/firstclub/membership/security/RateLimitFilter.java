@@ -0,0 +1,165 @@
+package com.firstclub.membership.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Token-bucket rate limiting per route, placed right after {@link JwtAuthenticationFilter}.
+ * Clients are keyed by authenticated user id, or by remote address for {@code /api/auth/**}
+ * and unauthenticated requests. The first matching rule applies. Per-client buckets live in
+ * a size-bounded cache and are dropped after {@code idle-timeout} without requests. A
+ * dropped bucket comes back full, which is what it would have refilled to anyway.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String AUTH_PATHS = "/api/auth/**";
+    private static final String MESSAGE = "Too many requests, please retry later";
+
+    private final List<Route> routes;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final AntPathRequestMatcher authMatcher = AntPathRequestMatcher.antMatcher(AUTH_PATHS);
+
+    public RateLimitFilter(List<RateLimitRule> rules, long maxBuckets, Duration idleTimeout,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(rules, maxBuckets, idleTimeout, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(List<RateLimitRule> rules, long maxBuckets, Duration idleTimeout,
+                    ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        long now = nanoClock.getAsLong();
+        this.routes = IntStream.range(0, rules.size())
+                .mapToObj(index -> new Route(index, rules.get(index), now, meterRegistry))
+                .toList();
+
+        Gauge.builder("membership.ratelimit.buckets", clientBuckets, Cache::estimatedSize)
+                .description("Per-client rate limit buckets currently held")
+                .register(meterRegistry);
+        logger.info("Rate limiting {} routes with at most {} client buckets", routes.size(), maxBuckets);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        String client = clientKey(request);
+        TokenBucket bucket = clientBuckets.get(route.index + "|" + client, key -> route.newClientBucket(now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            route.clientThrottled.increment();
+            logger.debug("Rate limit exceeded on {} for {}", route.rule.name(), client);
+            reject(response, waitNanos);
+            return;
+        }
+        if (route.globalBucket != null && (waitNanos = route.globalBucket.tryAcquire(now)) > 0) {
+            route.globalThrottled.increment();
+            logger.debug("Global rate limit exceeded on {}", route.rule.name());
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher.matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (!authMatcher.matches(request)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "user:" + principal.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(MESSAGE));
+    }
+
+    private static final class Route {
+
+        private final int index;
+        private final RateLimitRule rule;
+        private final AntPathRequestMatcher matcher;
+        private final TokenBucket globalBucket;
+        private final Counter clientThrottled;
+        private final Counter globalThrottled;
+
+        private Route(int index, RateLimitRule rule, long now, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.rule = rule;
+            this.matcher = rule.method() == null
+                    ? AntPathRequestMatcher.antMatcher(rule.pattern())
+                    : AntPathRequestMatcher.antMatcher(HttpMethod.valueOf(rule.method()), rule.pattern());
+            this.globalBucket = rule.globalLimit() > 0
+                    ? new TokenBucket(rule.globalLimit(), rule.period(), rule.globalLimit(), now)
+                    : null;
+            this.clientThrottled = throttledCounter(meterRegistry, rule, "client");
+            this.globalThrottled = throttledCounter(meterRegistry, rule, "global");
+        }
+
+        private TokenBucket newClientBucket(long now) {
+            return new TokenBucket(rule.limit(), rule.period(), rule.burst(), now);
+        }
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, RateLimitRule rule, String scope) {
+        return Counter.builder("membership.ratelimit.throttled")
+                .description("Requests rejected with 429 by the rate limiter")
+                .tag("route", rule.name())
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.firstclub.membership.security;
+
+import java.time.Duration;
+
+/**
+ * Limit for one route, bound from {@code app.rate-limit.routes}. {@code limit} requests per
+ * {@code period} per client, with up to {@code burst} at once (defaults to {@code limit}).
+ * A positive {@code globalLimit} also caps all clients together over the same period.
+ * {@code method} is optional and matches any method when omitted.
+ */
+public record RateLimitRule(String pattern, String method, long limit, Duration period, long burst, long globalLimit) {
+
+    public RateLimitRule {
+        if (pattern == null || limit <= 0 || period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit rule needs a pattern, a positive limit and a period: " + pattern);
+        }
+        if (burst <= 0) {
+            burst = limit;
+        }
+    }
+
+    String name() {
+        return method == null ? pattern : method + " " + pattern;
+    }
+}
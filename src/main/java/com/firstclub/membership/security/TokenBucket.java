@@ -0,0 +1,43 @@
+package com.firstclub.membership.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time": the instant at which
+ * the bucket would be full again if no more requests arrived. Taking a token pushes it
+ * forward by one refill interval with a CAS. A request is refused while that would put it
+ * more than {@code burst} intervals ahead of now.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAtNanos;
+
+    TokenBucket(long limit, Duration period, long burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, period.toNanos() / limit);
+        this.burstNanos = intervalNanos * burst;
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return {@code 0} when the request is allowed, otherwise the nanoseconds until a
+     *         token becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAtNanos.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAtNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.firstclub.membership.security;
+
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory revocation set for stateless tokens. Tokens issued before a user's last
+ * update, and all tokens of deactivated users, are rejected. Only users changed within
+ * the token lifetime (or inactive) are tracked, behind a Bloom filter so the common
+ * case is a few bit probes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.stateless-principal.enabled", havingValue = "true")
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final UserRepository userRepository;
+    private final long jwtExpiration;
+
+    private volatile RevocationSnapshot snapshot;
+
+    public TokenRevocationService(UserRepository userRepository,
+                                  @Value("${app.jwt.expiration}") long jwtExpiration) {
+        this.userRepository = userRepository;
+        this.jwtExpiration = jwtExpiration;
+        this.snapshot = RevocationSnapshot.build(List.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.stateless-principal.revocation-refresh-ms:30000}",
+               initialDelayString = "${app.jwt.stateless-principal.revocation-refresh-ms:30000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Failed to refresh token revocation set, keeping previous snapshot - error: {}",
+                        e.getMessage(), e);
+        }
+    }
+
+    public void refresh() {
+        LocalDateTime since = LocalDateTime.now().minusNanos(jwtExpiration * 1_000_000L);
+        List<UserRepository.RevocationView> candidates = userRepository.findRevocationCandidates(since);
+        snapshot = RevocationSnapshot.build(candidates);
+        logger.debug("Token revocation set refreshed with {} users", candidates.size());
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        RevocationSnapshot current = snapshot;
+        if (!current.filter.mightContain(claims.userId())) {
+            return false;
+        }
+        Long revokedBefore = current.revokedBeforeMillis.get(claims.userId());
+        return revokedBefore != null
+                && (claims.issuedAt() == null || claims.issuedAt().getTime() < revokedBefore);
+    }
+
+    private static final class RevocationSnapshot {
+
+        private final BloomFilter filter;
+        private final Map<Long, Long> revokedBeforeMillis;
+
+        private RevocationSnapshot(BloomFilter filter, Map<Long, Long> revokedBeforeMillis) {
+            this.filter = filter;
+            this.revokedBeforeMillis = revokedBeforeMillis;
+        }
+
+        static RevocationSnapshot build(List<UserRepository.RevocationView> candidates) {
+            BloomFilter filter = BloomFilter.create(candidates.size(), 0.01);
+            Map<Long, Long> revokedBefore = new HashMap<>(candidates.size() * 2);
+            for (UserRepository.RevocationView candidate : candidates) {
+                long cutoff;
+                if (!Boolean.TRUE.equals(candidate.getActive())) {
+                    cutoff = Long.MAX_VALUE;
+                } else {
+                    long updatedAt = candidate.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    cutoff = updatedAt - Math.floorMod(updatedAt, 1000L);
+                }
+                filter.put(candidate.getId());
+                revokedBefore.put(candidate.getId(), cutoff);
+            }
+            return new RevocationSnapshot(filter, revokedBefore);
+        }
+    }
+}
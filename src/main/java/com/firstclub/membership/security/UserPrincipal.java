@@ -18,6 +18,7 @@ public class UserPrincipal implements UserDetails {
     private String username;
     private String email;
     private String password;
+    private String cohort;
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserPrincipal create(User user) {
@@ -30,6 +31,22 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
+                user.getCohort(),
+                authorities
+        );
+    }
+
+    public static UserPrincipal fromClaims(JwtClaims claims) {
+        Collection<GrantedAuthority> authorities = claims.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserPrincipal(
+                claims.userId(),
+                claims.username(),
+                null,
+                null,
+                claims.cohort(),
                 authorities
         );
     }
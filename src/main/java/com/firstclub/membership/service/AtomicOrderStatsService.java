@@ -0,0 +1,112 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import com.firstclub.membership.logging.LogMarkers;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records an order with one atomic {@code UPDATE} that increments the counters in place,
+ * under READ COMMITTED. It does not use SERIALIZABLE or {@code SELECT ... FOR UPDATE}.
+ * Concurrent orders for the same user queue briefly on the row lock taken by the
+ * {@code UPDATE} and never fail with serialization errors.
+ *
+ * <p>The tier upgrade is a second conditional {@code UPDATE} that only raises the tier
+ * level, so racing writers can never downgrade each other. The cohort comes from
+ * {@link UserCohortCache}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.orders.atomic-counters.enabled", havingValue = "true")
+public class AtomicOrderStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AtomicOrderStatsService.class);
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final MembershipPlanService planService;
+    private final MembershipTierService tierService;
+    private final UserCohortCache cohortCache;
+    private final CurrentSubscriptionCache currentSubscriptionCache;
+    private final SubscriptionMetrics metrics;
+
+    public AtomicOrderStatsService(UserSubscriptionRepository subscriptionRepository,
+                                   MembershipPlanService planService,
+                                   MembershipTierService tierService,
+                                   UserCohortCache cohortCache,
+                                   CurrentSubscriptionCache currentSubscriptionCache,
+                                   SubscriptionMetrics metrics) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.planService = planService;
+        this.tierService = tierService;
+        this.cohortCache = cohortCache;
+        this.currentSubscriptionCache = currentSubscriptionCache;
+        this.metrics = metrics;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public SubscriptionResponse updateOrderStats(Long userId, OrderUpdateRequest request) {
+        logger.info(LogMarkers.ORDER_UPDATE, "Starting atomic order stats update for userId: {}, orderValue: {}",
+                   userId, request.getOrderValue());
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = subscriptionRepository.incrementOrderStats(userId, request.getOrderValue(), now);
+        if (updated == 0) {
+            logger.error("No active subscription found for userId: {} during order update", userId);
+            throw new ResourceNotFoundException("No active subscription found for user");
+        }
+
+        List<UserSubscriptionRepository.OrderStatsView> views =
+                subscriptionRepository.findActiveOrderStats(userId, now, Limit.of(1));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("No active subscription found for user");
+        }
+        UserSubscriptionRepository.OrderStatsView stats = views.get(0);
+        logger.debug("Updated stats - subscriptionId: {}, orders: {}, totalValue: {}",
+                    stats.getId(), stats.getOrderCount(), stats.getTotalOrderValue());
+
+        Long tierId = stats.getTierId();
+        MembershipTier eligibleTier = tierService.findEligibleTier(
+                stats.getOrderCount(), stats.getTotalOrderValue(), cohortCache.getCohort(userId));
+        if (eligibleTier.getTierLevel() > stats.getTierLevel()) {
+            int upgraded = subscriptionRepository.upgradeTierIfLower(
+                    stats.getId(), eligibleTier, eligibleTier.getTierLevel(), now);
+            if (upgraded > 0) {
+                logger.info("Tier upgrade triggered for userId: {} - level {} -> {} (level {})",
+                           userId, stats.getTierLevel(), eligibleTier.getName(), eligibleTier.getTierLevel());
+                metrics.recordTierUpgrade(tierService.getTierById(stats.getTierId()).getName(),
+                                          eligibleTier.getName(), "order");
+                tierId = eligibleTier.getId();
+            }
+        }
+
+        SubscriptionResponse response = SubscriptionResponse.builder()
+                .id(stats.getId())
+                .userId(userId)
+                .plan(planService.getPlanById(stats.getPlanId()))
+                .tier(tierService.getTierById(tierId))
+                .status(stats.getStatus())
+                .startDate(stats.getStartDate())
+                .expiryDate(stats.getExpiryDate())
+                .paidAmount(stats.getPaidAmount())
+                .orderCount(stats.getOrderCount())
+                .totalOrderValue(stats.getTotalOrderValue())
+                .build();
+        currentSubscriptionCache.refreshAfterCommit(userId, response);
+
+        logger.info(LogMarkers.ORDER_UPDATE, "Order stats updated atomically - subscriptionId: {}, orders: {}, value: {}",
+                   stats.getId(), stats.getOrderCount(), stats.getTotalOrderValue());
+        return response;
+    }
+}
@@ -6,11 +6,17 @@ import com.firstclub.membership.dto.request.LoginRequest;
 import com.firstclub.membership.dto.request.RegisterRequest;
 import com.firstclub.membership.dto.response.AuthResponse;
 import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.TooManyRequestsException;
 import com.firstclub.membership.repository.UserRepository;
 import com.firstclub.membership.security.JwtTokenProvider;
+import com.firstclub.membership.security.UserPrincipal;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,26 +24,32 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
 import java.util.Set;
 
 @Service
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    private static final String UNIQUE_USERNAME = "uk_users_username";
+    private static final String UNIQUE_EMAIL = "uk_users_email";
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final UserIdentityIndex identityIndex;
 
     public AuthService(UserRepository userRepository, 
                       PasswordEncoder passwordEncoder,
                       AuthenticationManager authenticationManager,
-                      JwtTokenProvider tokenProvider) {
+                      JwtTokenProvider tokenProvider,
+                      UserIdentityIndex identityIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.identityIndex = identityIndex;
     }
 
     @Transactional
@@ -45,16 +57,20 @@ public class AuthService {
         logger.info("Starting user registration process for username: {}", request.getUsername());
         logger.debug("Registration request details - email: {}, cohort: {}", request.getEmail(), request.getCohort());
 
-        logger.debug("Checking if username already exists: {}", request.getUsername());
-        if (userRepository.existsByUsername(request.getUsername())) {
-            logger.warn("Registration failed - username already exists: {}", request.getUsername());
-            throw new BusinessException(AppConstants.ERROR_MESSAGE_USERNAME_EXISTS);
+        if (identityIndex.mightContainUsername(request.getUsername())) {
+            logger.debug("Checking if username already exists: {}", request.getUsername());
+            if (userRepository.existsByUsername(request.getUsername())) {
+                logger.warn("Registration failed - username already exists: {}", request.getUsername());
+                throw new BusinessException(AppConstants.ERROR_MESSAGE_USERNAME_EXISTS);
+            }
         }
 
-        logger.debug("Checking if email already exists: {}", request.getEmail());
-        if (userRepository.existsByEmail(request.getEmail())) {
-            logger.warn("Registration failed - email already exists: {}", request.getEmail());
-            throw new BusinessException(AppConstants.ERROR_MESSAGE_EMAIL_EXISTS);
+        if (identityIndex.mightContainEmail(request.getEmail())) {
+            logger.debug("Checking if email already exists: {}", request.getEmail());
+            if (userRepository.existsByEmail(request.getEmail())) {
+                logger.warn("Registration failed - email already exists: {}", request.getEmail());
+                throw new BusinessException(AppConstants.ERROR_MESSAGE_EMAIL_EXISTS);
+            }
         }
 
         logger.debug("Creating new user entity for username: {}", request.getUsername());
@@ -69,13 +85,18 @@ public class AuthService {
                 .build();
 
         logger.debug("Saving user to database: {}", request.getUsername());
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUserException(request, e);
+        }
+        identityIndex.add(user.getUsername(), user.getEmail());
         logger.info("User saved successfully with ID: {} for username: {}", user.getId(), user.getUsername());
 
-        logger.debug("Authenticating newly registered user: {}", request.getUsername());
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        // The password was just hashed, so authenticating again would only repeat the hash and the user load
+        UserPrincipal principal = UserPrincipal.create(user);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         logger.debug("Generating JWT token for user: {}", user.getUsername());
@@ -91,6 +112,25 @@ public class AuthService {
                 .build();
     }
 
+    private BusinessException duplicateUserException(RegisterRequest request, DataIntegrityViolationException e) {
+        String violated = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        violated = violated == null ? "" : violated.toLowerCase(Locale.ROOT);
+        boolean username = violated.contains(UNIQUE_USERNAME)
+                || (!violated.contains(UNIQUE_EMAIL) && violated.contains("username"));
+        if (username) {
+            logger.warn("Registration failed on insert - username already exists: {}", request.getUsername());
+            return new BusinessException(AppConstants.ERROR_MESSAGE_USERNAME_EXISTS);
+        }
+        if (violated.contains("email")) {
+            logger.warn("Registration failed on insert - email already exists: {}", request.getEmail());
+            return new BusinessException(AppConstants.ERROR_MESSAGE_EMAIL_EXISTS);
+        }
+        throw e;
+    }
+
     public AuthResponse login(LoginRequest request) {
         logger.info("Login attempt for username: {}", request.getUsername());
 
@@ -104,22 +144,25 @@ public class AuthService {
             logger.debug("Authentication successful, generating JWT token for: {}", request.getUsername());
             String token = tokenProvider.generateToken(authentication);
 
-            logger.debug("Fetching user details from database for: {}", request.getUsername());
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> {
-                        logger.error("User not found in database after successful authentication: {}", request.getUsername());
-                        return new BusinessException("User not found");
-                    });
-
-            logger.info("Login successful for username: {}, userId: {}", user.getUsername(), user.getId());
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            logger.info("Login successful for username: {}, userId: {}", principal.getUsername(), principal.getId());
 
             return AuthResponse.builder()
                     .token(token)
                     .type("Bearer")
-                    .userId(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
+                    .userId(principal.getId())
+                    .username(principal.getUsername())
+                    .email(principal.getEmail())
                     .build();
+        } catch (InternalAuthenticationServiceException e) {
+            // An unknown username still hashes (timing-attack mitigation) inside the user lookup,
+            // which wraps a saturated hashing pool's rejection
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                logger.warn("Login rejected for username: {} - {}", request.getUsername(), tooManyRequests.getMessage());
+                throw tooManyRequests;
+            }
+            logger.error("Login failed for username: {} - Error: {}", request.getUsername(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Login failed for username: {} - Error: {}", request.getUsername(), e.getMessage());
             throw e;
@@ -0,0 +1,220 @@
+package com.firstclub.membership.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.cache.IdempotencyStore;
+import com.firstclub.membership.cache.IdempotentResponse;
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request at most once per {@code Idempotency-Key}. Keys are scoped to the
+ * user and operation. The first successful response is stored, and a retry with the same
+ * key is answered from the store without calling the action. Concurrent duplicates in
+ * this instance wait for the first one instead of executing; duplicates on other instances
+ * wait while its claim is held. Reusing a key with a different request body is rejected.
+ * Failures are not stored, so a retry after an error executes again, and so does a waiter
+ * whose holder released its claim without storing a response.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutNanos;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter coalescedCounter;
+    private final Counter conflictCounter;
+
+    public IdempotencyService(IdempotencyStore store,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.executedCounter = requestCounter(meterRegistry, "executed");
+        this.replayedCounter = requestCounter(meterRegistry, "replayed");
+        this.coalescedCounter = requestCounter(meterRegistry, "coalesced");
+        this.conflictCounter = requestCounter(meterRegistry, "conflict");
+    }
+
+    public <T> ResponseEntity<ApiResponse<T>> execute(Long userId, String operation, String idempotencyKey,
+                                                      Object request, Class<T> dataType,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = operation + ":" + userId + ":" + idempotencyKey;
+        String requestHash = hash(request);
+        JavaType responseType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+
+        Optional<IdempotentResponse> stored = store.get(key);
+        if (stored.isPresent()) {
+            logger.info("Replaying stored {} response for userId: {}, key: {}", operation, userId, idempotencyKey);
+            replayedCounter.increment();
+            return replay(stored.get(), requestHash, responseType);
+        }
+
+        CompletableFuture<IdempotentResponse> pending = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            logger.info("Waiting for in-flight {} request for userId: {}, key: {}", operation, userId, idempotencyKey);
+            coalescedCounter.increment();
+            return replay(await(existing), requestHash, responseType);
+        }
+
+        String claim = null;
+        try {
+            stored = store.get(key);
+            long deadline = System.nanoTime() + waitTimeoutNanos;
+            while (stored.isEmpty() && (claim = store.tryLock(key)) == null) {
+                stored = awaitStored(key, deadline);
+            }
+            if (stored.isPresent()) {
+                pending.complete(stored.get());
+                replayedCounter.increment();
+                return replay(stored.get(), requestHash, responseType);
+            }
+
+            ResponseEntity<ApiResponse<T>> response = action.get();
+            IdempotentResponse result = new IdempotentResponse(
+                    response.getStatusCode().value(), requestHash, serialize(response.getBody()));
+            if (response.getStatusCode().is2xxSuccessful()) {
+                store.put(key, result);
+                logger.debug("Stored {} response for userId: {}, key: {}", operation, userId, idempotencyKey);
+            }
+            executedCounter.increment();
+            pending.complete(result);
+            return response;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+            if (claim != null) {
+                store.unlock(key, claim);
+            }
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> replay(IdempotentResponse stored, String requestHash,
+                                                      JavaType responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            conflictCounter.increment();
+            throw new BusinessException(IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        }
+        try {
+            ApiResponse<T> body = objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response could not be read", e);
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> pending) {
+        try {
+            return pending.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Idempotent request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    /**
+     * Polls until another instance stores a response, or releases its claim without one
+     * (then returns empty so the caller can claim the key itself).
+     */
+    private Optional<IdempotentResponse> awaitStored(String key, long deadline) {
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<IdempotentResponse> stored = store.get(key);
+            if (stored.isPresent()) {
+                return stored;
+            }
+            if (!store.isLocked(key)) {
+                // Stored responses are written before the claim is released, so look once more
+                return store.get(key);
+            }
+        }
+        throw inProgress();
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request could not be hashed", e);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be serialized", e);
+        }
+    }
+
+    private static TooManyRequestsException inProgress() {
+        return new TooManyRequestsException("A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress", 1);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("membership.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,293 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.TierBenefit;
+import com.firstclub.membership.dto.response.MembershipPlanResponse;
+import com.firstclub.membership.dto.response.MembershipTierResponse;
+import com.firstclub.membership.dto.response.TierBenefitResponse;
+import com.firstclub.membership.repository.MembershipPlanRepository;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import com.firstclub.membership.repository.TierBenefitRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory snapshot of the active plans, tiers and tier benefits, with the
+ * response DTOs built once per load. Reads never touch the database.
+ *
+ * <p>The snapshot is reloaded on a schedule shorter than its time-to-live, so it is
+ * normally replaced before it expires. A new snapshot is published by a single volatile
+ * write. The version only changes when the catalog content changes. The DTOs are
+ * shared between callers and must not be modified. Loads are serialized with a
+ * {@link ReentrantLock} rather than a monitor so a virtual thread waiting on the
+ * database does not pin its carrier.
+ */
+@Component
+public class MembershipCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipCatalog.class);
+
+    private final MembershipPlanRepository planRepository;
+    private final MembershipTierRepository tierRepository;
+    private final TierBenefitRepository benefitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMs;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+
+    public MembershipCatalog(MembershipPlanRepository planRepository,
+                             MembershipTierRepository tierRepository,
+                             TierBenefitRepository benefitRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.catalog.ttl-ms:600000}") long ttlMs) {
+        this.planRepository = planRepository;
+        this.tierRepository = tierRepository;
+        this.benefitRepository = benefitRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.ttlMs = ttlMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${app.catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Catalog refresh failed, keeping version {} - error: {}",
+                        snapshot.version, e.getMessage(), e);
+        }
+    }
+
+    public void refresh() {
+        loadLock.lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            CatalogSnapshot loaded = transactionTemplate.execute(status -> load(current.version + 1));
+            if (current != CatalogSnapshot.EMPTY && current.hasSameContent(loaded)) {
+                snapshot = current.renewed(loaded.loadedAtMillis);
+                logger.debug("Catalog unchanged at version {}", current.version);
+                return;
+            }
+            snapshot = loaded;
+            logger.info("Catalog version {} loaded with {} plans and {} tiers",
+                       loaded.version, loaded.plans.size(), loaded.tiers.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public long getVersion() {
+        return current().version;
+    }
+
+    /**
+     * Hash of the catalog content. Unlike {@link #getVersion()}, which counts reloads in this
+     * instance, it is the same on every instance and across restarts for the same content,
+     * so it can back HTTP validators.
+     */
+    public String getContentHash() {
+        return current().contentHash;
+    }
+
+    public List<MembershipPlanResponse> getPlans() {
+        return current().plans;
+    }
+
+    public Optional<MembershipPlanResponse> findPlan(Long id) {
+        return Optional.ofNullable(current().plansById.get(id));
+    }
+
+    public List<MembershipTierResponse> getTiers() {
+        return current().tiers;
+    }
+
+    public Optional<MembershipTierResponse> findTier(Long id) {
+        return Optional.ofNullable(current().tiersById.get(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current == CatalogSnapshot.EMPTY) {
+            return loadIfEmpty();
+        }
+        if (System.currentTimeMillis() - current.loadedAtMillis > ttlMs) {
+            refreshInBackground(current);
+        }
+        return current;
+    }
+
+    private CatalogSnapshot loadIfEmpty() {
+        loadLock.lock();
+        try {
+            if (snapshot == CatalogSnapshot.EMPTY) {
+                refresh();
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void refreshInBackground(CatalogSnapshot stale) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        logger.warn("Serving expired catalog version {} while reloading", stale.version);
+        try {
+            refresher.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    logger.error("Background catalog refresh failed - error: {}", e.getMessage(), e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private CatalogSnapshot load(long version) {
+        List<MembershipPlan> plans = planRepository.findByActiveTrue();
+        List<MembershipTier> tiers = tierRepository.findByActiveTrueOrderByTierLevelAsc();
+        List<Long> tierIds = tiers.stream().map(MembershipTier::getId).toList();
+        Map<Long, List<TierBenefit>> benefitsByTier = tierIds.isEmpty() ? Map.of() :
+                benefitRepository.findByTierIdInAndActiveTrue(tierIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(TierBenefit::getTierId));
+
+        logger.debug("Loaded catalog rows - plans: {}, tiers: {}, tiers with benefits: {}",
+                    plans.size(), tiers.size(), benefitsByTier.size());
+
+        List<MembershipPlanResponse> planResponses = plans.stream()
+                .map(MembershipCatalog::toPlanResponse)
+                .toList();
+        List<MembershipTierResponse> tierResponses = tiers.stream()
+                .map(tier -> toTierResponse(tier, benefitsByTier.getOrDefault(tier.getId(), List.of())))
+                .toList();
+        return new CatalogSnapshot(version, System.currentTimeMillis(), planResponses, tierResponses);
+    }
+
+    private static MembershipPlanResponse toPlanResponse(MembershipPlan plan) {
+        return MembershipPlanResponse.builder()
+                .id(plan.getId())
+                .name(plan.getName())
+                .description(plan.getDescription())
+                .duration(plan.getDuration())
+                .price(plan.getPrice())
+                .active(plan.getActive())
+                .build();
+    }
+
+    private static MembershipTierResponse toTierResponse(MembershipTier tier, List<TierBenefit> benefits) {
+        return MembershipTierResponse.builder()
+                .id(tier.getId())
+                .name(tier.getName())
+                .description(tier.getDescription())
+                .tierLevel(tier.getTierLevel())
+                .minOrderCount(tier.getMinOrderCount())
+                .minOrderValue(tier.getMinOrderValue())
+                .requiredCohort(tier.getRequiredCohort())
+                .active(tier.getActive())
+                .benefits(benefits.stream().map(MembershipCatalog::toBenefitResponse).toList())
+                .build();
+    }
+
+    private static TierBenefitResponse toBenefitResponse(TierBenefit benefit) {
+        return TierBenefitResponse.builder()
+                .id(benefit.getId())
+                .benefitType(benefit.getBenefitType())
+                .description(benefit.getDescription())
+                .discountPercentage(benefit.getDiscountPercentage())
+                .applicableCategories(benefit.getApplicableCategories())
+                .build();
+    }
+
+    static final class CatalogSnapshot {
+
+        static final CatalogSnapshot EMPTY = new CatalogSnapshot(0L, 0L, List.of(), List.of());
+
+        private final long version;
+        private final long loadedAtMillis;
+        private final String contentHash;
+        private final List<MembershipPlanResponse> plans;
+        private final Map<Long, MembershipPlanResponse> plansById;
+        private final List<MembershipTierResponse> tiers;
+        private final Map<Long, MembershipTierResponse> tiersById;
+
+        CatalogSnapshot(long version, long loadedAtMillis,
+                        List<MembershipPlanResponse> plans, List<MembershipTierResponse> tiers) {
+            this.version = version;
+            this.loadedAtMillis = loadedAtMillis;
+            this.plans = List.copyOf(plans);
+            this.tiers = List.copyOf(tiers);
+            this.plansById = this.plans.stream()
+                    .collect(Collectors.toUnmodifiableMap(MembershipPlanResponse::getId, Function.identity()));
+            this.tiersById = this.tiers.stream()
+                    .collect(Collectors.toUnmodifiableMap(MembershipTierResponse::getId, Function.identity()));
+            this.contentHash = hash(this.plans, this.tiers);
+        }
+
+        private static String hash(List<MembershipPlanResponse> plans, List<MembershipTierResponse> tiers) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(plans.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(tiers.toString().getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest.digest(), 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        boolean hasSameContent(CatalogSnapshot other) {
+            return plans.equals(other.plans) && tiers.equals(other.tiers);
+        }
+
+        CatalogSnapshot renewed(long loadedAtMillis) {
+            return new CatalogSnapshot(version, loadedAtMillis, plans, tiers);
+        }
+    }
+}
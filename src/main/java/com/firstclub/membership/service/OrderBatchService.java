@@ -0,0 +1,272 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.dto.request.BatchOrderUpdateRequest;
+import com.firstclub.membership.dto.request.OrderRecord;
+import com.firstclub.membership.dto.response.BatchOrderUpdateResponse;
+import com.firstclub.membership.dto.response.OrderRecordResult;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class OrderBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBatchService.class);
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final MembershipPlanService planService;
+    private final MembershipTierService tierService;
+    private final CurrentSubscriptionCache currentSubscriptionCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRecords;
+    private final int usersPerTransaction;
+
+    public OrderBatchService(UserSubscriptionRepository subscriptionRepository,
+                            UserRepository userRepository,
+                            MembershipPlanService planService,
+                            MembershipTierService tierService,
+                            CurrentSubscriptionCache currentSubscriptionCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.orders.batch.max-records:10000}") int maxRecords,
+                            @Value("${app.orders.batch.users-per-transaction:200}") int usersPerTransaction) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.planService = planService;
+        this.tierService = tierService;
+        this.currentSubscriptionCache = currentSubscriptionCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRecords = maxRecords;
+        this.usersPerTransaction = usersPerTransaction;
+    }
+
+    public BatchOrderUpdateResponse updateOrderStatsBatch(BatchOrderUpdateRequest request) {
+        List<OrderRecord> records = request.getOrders();
+        if (records.size() > maxRecords) {
+            logger.warn("Batch order update rejected - {} records exceeds limit of {}", records.size(), maxRecords);
+            throw new BusinessException("Batch exceeds maximum of " + maxRecords + " order records");
+        }
+
+        logger.info("Starting batch order update with {} records", records.size());
+        long startNanos = System.nanoTime();
+
+        OrderRecordResult[] results = new OrderRecordResult[records.size()];
+        Map<Long, OrderDelta> deltasByUser = new TreeMap<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            OrderRecord record = records.get(i);
+            String error = validate(record);
+            if (error != null) {
+                results[i] = failure(i, record == null ? null : record.getUserId(), error);
+                continue;
+            }
+            deltasByUser.computeIfAbsent(record.getUserId(), OrderDelta::new).addRecord(i, record.getOrderValue());
+        }
+
+        logger.debug("Grouped {} valid records into {} users",
+                    records.size() - countFilled(results), deltasByUser.size());
+
+        int usersUpdated = applyDeltas(new ArrayList<>(deltasByUser.values()), new DeltaOutcomeListener() {
+            @Override
+            public void onApplied(OrderDelta delta, UserSubscription subscription, boolean tierUpgraded) {
+                for (int index : delta.getRecordIndexes()) {
+                    results[index] = OrderRecordResult.builder()
+                            .index(index)
+                            .userId(delta.getUserId())
+                            .success(true)
+                            .message(AppConstants.SUCCESS_MESSAGE_ORDER_UPDATED)
+                            .subscriptionId(subscription.getId())
+                            .orderCount(subscription.getOrderCount())
+                            .totalOrderValue(subscription.getTotalOrderValue())
+                            .tierName(subscription.getTier().getName())
+                            .tierUpgraded(tierUpgraded)
+                            .build();
+                }
+            }
+
+            @Override
+            public void onNoActiveSubscription(OrderDelta delta) {
+                for (int index : delta.getRecordIndexes()) {
+                    results[index] = failure(index, delta.getUserId(), AppConstants.ERROR_MESSAGE_NO_ACTIVE_SUBSCRIPTION);
+                }
+            }
+
+            @Override
+            public void onFailed(OrderDelta delta, RuntimeException cause) {
+                for (int index : delta.getRecordIndexes()) {
+                    results[index] = failure(index, delta.getUserId(), failureMessage(cause));
+                }
+            }
+        });
+
+        int applied = (int) Arrays.stream(results).filter(OrderRecordResult::isSuccess).count();
+        logger.info("Batch order update completed - records: {}, applied: {}, failed: {}, users: {}, took {} ms",
+                   records.size(), applied, records.size() - applied, usersUpdated,
+                   (System.nanoTime() - startNanos) / 1_000_000);
+
+        return BatchOrderUpdateResponse.builder()
+                .totalRecords(records.size())
+                .appliedRecords(applied)
+                .failedRecords(records.size() - applied)
+                .usersUpdated(usersUpdated)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Maps a chunk failure to a message safe to return per record; the exception itself is
+     * only logged. Business rejections keep their own client-facing message.
+     */
+    private static String failureMessage(RuntimeException cause) {
+        return switch (SubscriptionMetrics.classify(cause)) {
+            case SubscriptionMetrics.OUTCOME_NOT_FOUND, SubscriptionMetrics.OUTCOME_REJECTED -> cause.getMessage();
+            case SubscriptionMetrics.OUTCOME_SERIALIZATION_FAILURE, SubscriptionMetrics.OUTCOME_LOCK_TIMEOUT ->
+                    AppConstants.ERROR_MESSAGE_ORDER_CONFLICT;
+            default -> AppConstants.ERROR_MESSAGE_ORDER_FAILED;
+        };
+    }
+
+    int applyDeltas(List<OrderDelta> deltas, DeltaOutcomeListener listener) {
+        int usersUpdated = 0;
+        for (int from = 0; from < deltas.size(); from += usersPerTransaction) {
+            List<OrderDelta> chunk = deltas.subList(from, Math.min(from + usersPerTransaction, deltas.size()));
+            List<Runnable> notifications = new ArrayList<>();
+            try {
+                List<OrderDelta> applied = transactionTemplate.execute(status -> applyChunk(chunk, listener, notifications));
+                usersUpdated += applied.size();
+            } catch (RuntimeException e) {
+                logger.error("Order delta chunk failed for {} users - error: {}", chunk.size(), e.getMessage(), e);
+                for (OrderDelta delta : chunk) {
+                    listener.onFailed(delta, e);
+                }
+                continue;
+            }
+            notifications.forEach(Runnable::run);
+        }
+        return usersUpdated;
+    }
+
+    private List<OrderDelta> applyChunk(List<OrderDelta> chunk, DeltaOutcomeListener listener,
+                                        List<Runnable> notifications) {
+        List<Long> userIds = chunk.stream().map(OrderDelta::getUserId).toList();
+        logger.debug("Locking active subscriptions for {} users", userIds.size());
+
+        Map<Long, UserSubscription> subscriptionsByUser = new HashMap<>();
+        for (UserSubscription subscription : subscriptionRepository
+                .findActiveSubscriptionsWithLock(userIds, LocalDateTime.now())) {
+            subscriptionsByUser.putIfAbsent(subscription.getUser().getId(), subscription);
+        }
+
+        Map<Long, String> cohortsByUser = new HashMap<>();
+        for (UserRepository.CohortView view : userRepository.findCohortsByIdIn(subscriptionsByUser.keySet())) {
+            cohortsByUser.put(view.getId(), view.getCohort());
+        }
+
+        List<OrderDelta> applied = new ArrayList<>();
+        for (OrderDelta delta : chunk) {
+            UserSubscription subscription = subscriptionsByUser.get(delta.getUserId());
+            if (subscription == null) {
+                notifications.add(() -> listener.onNoActiveSubscription(delta));
+                continue;
+            }
+
+            subscription.setOrderCount(subscription.getOrderCount() + delta.getOrderCount());
+            subscription.setTotalOrderValue(subscription.getTotalOrderValue().add(delta.getOrderValue()));
+
+            MembershipTier eligibleTier = tierService.findEligibleTier(
+                    subscription.getOrderCount(),
+                    subscription.getTotalOrderValue(),
+                    cohortsByUser.get(delta.getUserId())
+            );
+
+            boolean upgraded = eligibleTier.getTierLevel() > subscription.getTier().getTierLevel();
+            if (upgraded) {
+                logger.info("Tier upgrade triggered for userId: {} - {} -> {}",
+                           delta.getUserId(), subscription.getTier().getName(), eligibleTier.getName());
+                subscription.setTier(eligibleTier);
+            }
+
+            currentSubscriptionCache.refreshAfterCommit(delta.getUserId(), mapToResponse(subscription));
+            notifications.add(() -> listener.onApplied(delta, subscription, upgraded));
+            applied.add(delta);
+        }
+
+        logger.debug("Applied order deltas for {} of {} users in chunk", applied.size(), chunk.size());
+        return applied;
+    }
+
+    private SubscriptionResponse mapToResponse(UserSubscription subscription) {
+        return SubscriptionResponse.builder()
+                .id(subscription.getId())
+                .userId(subscription.getUser().getId())
+                .plan(planService.getPlanById(subscription.getPlan().getId()))
+                .tier(tierService.getTierById(subscription.getTier().getId()))
+                .status(subscription.getStatus())
+                .startDate(subscription.getStartDate())
+                .expiryDate(subscription.getExpiryDate())
+                .paidAmount(subscription.getPaidAmount())
+                .orderCount(subscription.getOrderCount())
+                .totalOrderValue(subscription.getTotalOrderValue())
+                .build();
+    }
+
+    private String validate(OrderRecord record) {
+        if (record == null || record.getUserId() == null) {
+            return "User ID is required";
+        }
+        if (record.getOrderValue() == null) {
+            return "Order value is required";
+        }
+        if (record.getOrderValue().signum() <= 0) {
+            return "Order value must be positive";
+        }
+        return null;
+    }
+
+    private OrderRecordResult failure(int index, Long userId, String message) {
+        return OrderRecordResult.builder()
+                .index(index)
+                .userId(userId)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private int countFilled(OrderRecordResult[] results) {
+        int filled = 0;
+        for (OrderRecordResult result : results) {
+            if (result != null) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    interface DeltaOutcomeListener {
+
+        void onApplied(OrderDelta delta, UserSubscription subscription, boolean tierUpgraded);
+
+        void onNoActiveSubscription(OrderDelta delta);
+
+        void onFailed(OrderDelta delta, RuntimeException cause);
+    }
+}
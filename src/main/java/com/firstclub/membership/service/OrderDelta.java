@@ -0,0 +1,46 @@
+package com.firstclub.membership.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+final class OrderDelta {
+
+    private final Long userId;
+    private int orderCount;
+    private BigDecimal orderValue = BigDecimal.ZERO;
+    private int[] recordIndexes = new int[0];
+
+    OrderDelta(Long userId) {
+        this.userId = userId;
+    }
+
+    OrderDelta(Long userId, int orderCount, BigDecimal orderValue) {
+        this.userId = userId;
+        this.orderCount = orderCount;
+        this.orderValue = orderValue;
+    }
+
+    void addRecord(int index, BigDecimal value) {
+        if (orderCount == recordIndexes.length) {
+            recordIndexes = Arrays.copyOf(recordIndexes, Math.max(2, orderCount * 2));
+        }
+        recordIndexes[orderCount++] = index;
+        orderValue = orderValue.add(value);
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    int getOrderCount() {
+        return orderCount;
+    }
+
+    BigDecimal getOrderValue() {
+        return orderValue;
+    }
+
+    int[] getRecordIndexes() {
+        return Arrays.copyOf(recordIndexes, Math.min(orderCount, recordIndexes.length));
+    }
+}
@@ -0,0 +1,262 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.UserSubscription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for order statistics. Orders are folded into one packed
+ * {@code (count, cents)} cell per user with a single CAS, and a background flusher
+ * applies the drained deltas to {@code user_subscriptions} in batched transactions,
+ * re-evaluating the tier once per user. A delta whose flush fails is merged back into
+ * its cell and retried, up to {@code maxFlushAttempts} consecutive failures per user.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.write-behind.enabled", havingValue = "true")
+public class OrderStatsAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatsAccumulator.class);
+
+    private static final int CENTS_BITS = 44;
+    private static final long CENTS_MASK = (1L << CENTS_BITS) - 1;
+    private static final long ONE_ORDER = 1L << CENTS_BITS;
+    private static final long MAX_ORDERS = (1L << (Long.SIZE - CENTS_BITS)) - 2;
+    private static final long RETIRED = -1L;
+
+    private final OrderBatchService orderBatchService;
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-stats-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long flushIntervalMs;
+    private final int maxPendingUsers;
+    private final int maxFlushAttempts;
+
+    private final AtomicLong pendingOrders = new AtomicLong();
+    private final Timer flushTimer;
+    private final Counter flushedOrders;
+    private final Counter droppedOrders;
+    private final Counter rejectedOrders;
+    private final Counter abandonedOrders;
+
+    public OrderStatsAccumulator(OrderBatchService orderBatchService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.orders.write-behind.flush-interval-ms:1000}") long flushIntervalMs,
+                                @Value("${app.orders.write-behind.max-pending-users:100000}") int maxPendingUsers,
+                                @Value("${app.orders.write-behind.max-flush-attempts:5}") int maxFlushAttempts) {
+        this.orderBatchService = orderBatchService;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPendingUsers = maxPendingUsers;
+        this.maxFlushAttempts = maxFlushAttempts;
+
+        Gauge.builder("membership.orders.write_behind.pending.users", cells, Map::size)
+                .description("Users with order deltas waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("membership.orders.write_behind.pending.orders", pendingOrders, AtomicLong::get)
+                .description("Orders accepted but not yet flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("membership.orders.write_behind.flush")
+                .description("Time taken to flush accumulated order deltas")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedOrders = Counter.builder("membership.orders.write_behind.flushed")
+                .description("Orders applied to user_subscriptions by the flusher")
+                .register(meterRegistry);
+        this.droppedOrders = Counter.builder("membership.orders.write_behind.dropped")
+                .description("Orders discarded because the user had no active subscription at flush time")
+                .register(meterRegistry);
+        this.rejectedOrders = Counter.builder("membership.orders.write_behind.rejected")
+                .description("Orders not accepted for write-behind and processed synchronously")
+                .register(meterRegistry);
+        this.abandonedOrders = Counter.builder("membership.orders.write_behind.abandoned")
+                .description("Orders discarded after repeated flush failures or when they no longer fit the buffer")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        logger.info("Starting write-behind order stats flusher with interval {} ms", flushIntervalMs);
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean record(Long userId, BigDecimal orderValue) {
+        long cents;
+        try {
+            cents = orderValue.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            rejectedOrders.increment();
+            return false;
+        }
+        if (cents <= 0 || cents > CENTS_MASK) {
+            rejectedOrders.increment();
+            return false;
+        }
+        return record(userId, cents);
+    }
+
+    boolean record(Long userId, long cents) {
+        long delta = ONE_ORDER + cents;
+        while (true) {
+            Cell cell = cells.get(userId);
+            if (cell == null) {
+                if (cells.size() >= maxPendingUsers) {
+                    rejectedOrders.increment();
+                    return false;
+                }
+                cell = cells.computeIfAbsent(userId, id -> new Cell());
+            }
+            long current = cell.value.get();
+            if (current == RETIRED) {
+                cells.remove(userId, cell);
+                continue;
+            }
+            if ((current >>> CENTS_BITS) >= MAX_ORDERS || (current & CENTS_MASK) + cents > CENTS_MASK) {
+                rejectedOrders.increment();
+                return false;
+            }
+            if (cell.value.compareAndSet(current, current + delta)) {
+                pendingOrders.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public int pendingUsers() {
+        return cells.size();
+    }
+
+    public void flush() {
+        Timer.Sample sample = Timer.start();
+        List<OrderDelta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Flushing order deltas for {} users", deltas.size());
+        int usersUpdated = orderBatchService.applyDeltas(deltas, new OrderBatchService.DeltaOutcomeListener() {
+            @Override
+            public void onApplied(OrderDelta delta, UserSubscription subscription, boolean tierUpgraded) {
+                flushedOrders.increment(delta.getOrderCount());
+                Cell cell = cells.get(delta.getUserId());
+                if (cell != null) {
+                    cell.failedFlushes = 0;
+                }
+            }
+
+            @Override
+            public void onNoActiveSubscription(OrderDelta delta) {
+                logger.warn("Dropping {} buffered orders for userId: {} - no active subscription",
+                           delta.getOrderCount(), delta.getUserId());
+                droppedOrders.increment(delta.getOrderCount());
+            }
+
+            @Override
+            public void onFailed(OrderDelta delta, RuntimeException cause) {
+                requeue(delta, cause);
+            }
+        });
+        long elapsed = sample.stop(flushTimer);
+        logger.debug("Flushed order deltas for {} of {} users in {} ms",
+                    usersUpdated, deltas.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        logger.info("Stopping write-behind flusher, {} orders pending", pendingOrders.get());
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        logger.info("Write-behind flusher stopped, {} orders left pending", pendingOrders.get());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Write-behind flush failed - error: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<OrderDelta> drain() {
+        List<OrderDelta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            Cell cell = entry.getValue();
+            long drained = cell.value.getAndUpdate(current -> current == RETIRED ? RETIRED : 0L);
+            if (drained == RETIRED) {
+                continue;
+            }
+            if (drained == 0L) {
+                if (cell.value.compareAndSet(0L, RETIRED)) {
+                    cells.remove(entry.getKey(), cell);
+                }
+                continue;
+            }
+            int orderCount = (int) (drained >>> CENTS_BITS);
+            pendingOrders.addAndGet(-orderCount);
+            deltas.add(new OrderDelta(entry.getKey(), orderCount, BigDecimal.valueOf(drained & CENTS_MASK, 2)));
+        }
+        return deltas;
+    }
+
+    private void requeue(OrderDelta delta, RuntimeException cause) {
+        long cents = delta.getOrderValue().movePointRight(2).longValueExact();
+        while (true) {
+            Cell cell = cells.computeIfAbsent(delta.getUserId(), id -> new Cell());
+            long current = cell.value.get();
+            if (current == RETIRED) {
+                cells.remove(delta.getUserId(), cell);
+                continue;
+            }
+            if (cell.failedFlushes + 1 >= maxFlushAttempts) {
+                cell.failedFlushes = 0;
+                abandon(delta, "flush failed " + maxFlushAttempts + " times - error: " + cause.getMessage());
+                return;
+            }
+            if ((current >>> CENTS_BITS) + delta.getOrderCount() > MAX_ORDERS
+                    || (current & CENTS_MASK) + cents > CENTS_MASK) {
+                abandon(delta, "too many orders buffered since the failed flush");
+                return;
+            }
+            long packed = ((long) delta.getOrderCount() << CENTS_BITS) + cents;
+            if (cell.value.compareAndSet(current, current + packed)) {
+                cell.failedFlushes++;
+                pendingOrders.addAndGet(delta.getOrderCount());
+                return;
+            }
+        }
+    }
+
+    private void abandon(OrderDelta delta, String reason) {
+        logger.error("Abandoning {} buffered orders worth {} for userId: {} - {}",
+                    delta.getOrderCount(), delta.getOrderValue(), delta.getUserId(), reason);
+        abandonedOrders.increment(delta.getOrderCount());
+    }
+
+    private static final class Cell {
+        private final AtomicLong value = new AtomicLong();
+        // Consecutive failed flushes; only read and written by flush(), which never overlaps itself
+        private int failedFlushes;
+    }
+}
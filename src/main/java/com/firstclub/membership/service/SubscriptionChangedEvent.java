@@ -0,0 +1,16 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link SubscriptionService} when a subscription is created or changes
+ * status or tier. Listeners that act on committed state should use
+ * {@code @TransactionalEventListener}.
+ */
+public record SubscriptionChangedEvent(Long subscriptionId,
+                                       Long userId,
+                                       SubscriptionStatus status,
+                                       LocalDateTime expiryDate) {
+}
@@ -0,0 +1,204 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository.ExpiryView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expires due subscriptions with set-based {@code UPDATE} statements, either over keyset
+ * chunks of due ids (the reconciliation sweep) or for an explicit batch of ids (the expiry
+ * wheel). Each chunk or batch runs in its own short transaction, and the affected users'
+ * {@code userSubscriptions} entries are evicted after it commits.
+ */
+@Service
+public class SubscriptionExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionExpiryService.class);
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int cacheClearThreshold;
+
+    private final Timer runTimer;
+    private final Timer chunkTimer;
+    private final Timer wheelBatchTimer;
+    private final DistributionSummary chunkSizeSummary;
+    private final DistributionSummary wheelBatchSizeSummary;
+    private final Counter expiredCounter;
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+
+    public SubscriptionExpiryService(UserSubscriptionRepository subscriptionRepository,
+                                     CacheManager cacheManager,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.subscriptions.expiry.chunk-size:1000}") int chunkSize,
+                                     @Value("${app.subscriptions.expiry.cache-clear-threshold:5000}") int cacheClearThreshold) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.cacheClearThreshold = cacheClearThreshold;
+
+        this.runTimer = Timer.builder("membership.subscriptions.expiry.run")
+                .description("Time taken by one expiry run across all chunks")
+                .register(meterRegistry);
+        this.chunkTimer = batchTimer(meterRegistry, "sweep");
+        this.wheelBatchTimer = batchTimer(meterRegistry, "wheel");
+        this.chunkSizeSummary = batchSizeSummary(meterRegistry, "sweep");
+        this.wheelBatchSizeSummary = batchSizeSummary(meterRegistry, "wheel");
+        this.expiredCounter = Counter.builder("membership.subscriptions.expired")
+                .description("Subscriptions moved from ACTIVE to EXPIRED")
+                .register(meterRegistry);
+        Gauge.builder("membership.subscriptions.expiry.rows_per_second", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Expiry throughput of the most recent run")
+                .register(meterRegistry);
+    }
+
+    public int expireDueSubscriptions(LocalDateTime now) {
+        long startNanos = System.nanoTime();
+
+        int expired = 0;
+        int chunks = 0;
+        int failedChunks = 0;
+        long lastId = 0;
+        ChunkResult result;
+        do {
+            try {
+                result = expireChunk(lastId, now);
+            } catch (RuntimeException e) {
+                // The rows are still due, so the next run picks them up again from here
+                failedChunks++;
+                logger.error("Expiry chunk failed after id {} - error: {}", lastId, e.getMessage(), e);
+                break;
+            }
+            if (result.found() == 0) {
+                break;
+            }
+            chunks++;
+            expired += result.expired();
+            lastId = result.lastId();
+        } while (result.found() == chunkSize);
+
+        if (chunks == 0 && failedChunks == 0) {
+            logger.debug("No subscriptions due for expiry at {}", now);
+            return 0;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long rowsPerSecond = elapsedNanos > 0 ? expired * 1_000_000_000L / elapsedNanos : 0;
+        lastRunRowsPerSecond.set(rowsPerSecond);
+
+        logger.info("Subscription expiry completed - expired: {}, chunks: {}, failedChunks: {}, took {} ms ({} rows/s)",
+                   expired, chunks, failedChunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+        return expired;
+    }
+
+    public int expireSubscriptions(Collection<Long> subscriptionIds, Collection<Long> userIds, LocalDateTime now) {
+        if (subscriptionIds.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start();
+        Integer updated = transactionTemplate.execute(status -> subscriptionRepository.expireDueByIds(subscriptionIds, now));
+        long elapsed = sample.stop(wheelBatchTimer);
+        wheelBatchSizeSummary.record(updated);
+        expiredCounter.increment(updated);
+        evictUserSubscriptions(userIds);
+        logger.debug("Expired {} of {} scheduled subscriptions in {} ms",
+                    updated, subscriptionIds.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return updated;
+    }
+
+    private ChunkResult expireChunk(long afterId, LocalDateTime now) {
+        Timer.Sample sample = Timer.start();
+        ChunkResult result = transactionTemplate.execute(status -> {
+            List<ExpiryView> due = subscriptionRepository.findDueForExpiryAfter(afterId, now, Limit.of(chunkSize));
+            if (due.isEmpty()) {
+                return new ChunkResult(0, 0, afterId, List.of());
+            }
+            List<Long> ids = new ArrayList<>(due.size());
+            List<Long> userIds = new ArrayList<>(due.size());
+            for (ExpiryView view : due) {
+                ids.add(view.getId());
+                userIds.add(view.getUserId());
+            }
+            int updated = subscriptionRepository.expireDueByIds(ids, now);
+            return new ChunkResult(due.size(), updated, ids.get(ids.size() - 1), userIds);
+        });
+        if (result.found() == 0) {
+            return result;
+        }
+        long elapsed = sample.stop(chunkTimer);
+        chunkSizeSummary.record(result.expired());
+        expiredCounter.increment(result.expired());
+        evictUserSubscriptions(result.userIds());
+        logger.debug("Expired {} subscriptions in ids {}..{} in {} ms",
+                    result.expired(), afterId + 1, result.lastId(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return result;
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("membership.subscriptions.expiry.chunk")
+                .description("Time taken to expire one sweep chunk or wheel batch, including its transaction")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary batchSizeSummary(MeterRegistry meterRegistry, String source) {
+        return DistributionSummary.builder("membership.subscriptions.expiry.batch.size")
+                .description("Subscriptions expired by one sweep chunk or wheel batch")
+                .baseUnit("subscriptions")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private void evictUserSubscriptions(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(AppConstants.CACHE_USER_SUBSCRIPTIONS);
+        if (cache == null) {
+            return;
+        }
+        Set<Long> distinctUsers = new HashSet<>(userIds);
+        if (distinctUsers.size() > cacheClearThreshold) {
+            logger.info("Clearing {} cache after expiring subscriptions for {} users",
+                       AppConstants.CACHE_USER_SUBSCRIPTIONS, distinctUsers.size());
+            cache.clear();
+            return;
+        }
+        logger.debug("Evicting {} cache entries for {} users", AppConstants.CACHE_USER_SUBSCRIPTIONS, distinctUsers.size());
+        for (Long userId : distinctUsers) {
+            cache.evict(userId);
+        }
+    }
+
+    private record ChunkResult(int found, int expired, long lastId, List<Long> userIds) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.dto.response.MembershipPlanResponse;
+import com.firstclub.membership.dto.response.MembershipTierResponse;
+import com.firstclub.membership.dto.response.SubscriptionHistoryResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository.HistoryView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a user's subscription history, whole or one page at a time. Either way it is a
+ * single projection query joining plan and tier; pages are keyed by {@code (createdAt, id)}
+ * rather than an offset.
+ */
+@Service
+public class SubscriptionHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionHistoryService.class);
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final MembershipCatalog catalog;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SubscriptionHistoryService(UserSubscriptionRepository subscriptionRepository,
+                                      MembershipCatalog catalog,
+                                      @Value("${app.subscriptions.history.default-page-size:20}") int defaultPageSize,
+                                      @Value("${app.subscriptions.history.max-page-size:100}") int maxPageSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.catalog = catalog;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubscriptionResponse> getSubscriptionHistory(Long userId) {
+        logger.info("Fetching full subscription history for userId: {}", userId);
+
+        List<SubscriptionResponse> subscriptions =
+                mapToResponses(subscriptionRepository.findHistoryFirstPage(userId, Limit.unlimited()));
+
+        logger.info("Successfully fetched {} subscriptions for userId: {}", subscriptions.size(), userId);
+        return subscriptions;
+    }
+
+    @Transactional(readOnly = true)
+    public SubscriptionHistoryResponse getSubscriptionHistoryPage(Long userId, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        logger.info("Fetching subscription history for userId: {}, pageSize: {}, cursor: {}",
+                   userId, pageSize, cursor != null);
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<HistoryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = subscriptionRepository.findHistoryFirstPage(userId, limit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = subscriptionRepository.findHistoryPageAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<HistoryView> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<SubscriptionResponse> subscriptions = mapToResponses(page);
+
+        String nextCursor = null;
+        if (hasMore) {
+            HistoryView last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        logger.info("Successfully fetched {} subscriptions for userId: {}, hasMore: {}",
+                   subscriptions.size(), userId, hasMore);
+        return SubscriptionHistoryResponse.builder()
+                .subscriptions(subscriptions)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<SubscriptionResponse> mapToResponses(List<HistoryView> rows) {
+        List<SubscriptionResponse> subscriptions = new ArrayList<>(rows.size());
+        for (HistoryView row : rows) {
+            subscriptions.add(mapToResponse(row));
+        }
+        return subscriptions;
+    }
+
+    private SubscriptionResponse mapToResponse(HistoryView row) {
+        logger.trace("Mapping history row to response DTO - subscriptionId: {}", row.getId());
+        return SubscriptionResponse.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .plan(catalog.findPlan(row.getPlanId()).orElseGet(() -> planFrom(row)))
+                .tier(catalog.findTier(row.getTierId()).orElseGet(() -> tierFrom(row)))
+                .status(row.getStatus())
+                .startDate(row.getStartDate())
+                .expiryDate(row.getExpiryDate())
+                .paidAmount(row.getPaidAmount())
+                .orderCount(row.getOrderCount())
+                .totalOrderValue(row.getTotalOrderValue())
+                .build();
+    }
+
+    private MembershipPlanResponse planFrom(HistoryView row) {
+        return MembershipPlanResponse.builder()
+                .id(row.getPlanId())
+                .name(row.getPlanName())
+                .description(row.getPlanDescription())
+                .duration(row.getPlanDuration())
+                .price(row.getPlanPrice())
+                .active(row.getPlanActive())
+                .build();
+    }
+
+    private MembershipTierResponse tierFrom(HistoryView row) {
+        return MembershipTierResponse.builder()
+                .id(row.getTierId())
+                .name(row.getTierName())
+                .description(row.getTierDescription())
+                .tierLevel(row.getTierLevel())
+                .minOrderCount(row.getTierMinOrderCount())
+                .minOrderValue(row.getTierMinOrderValue())
+                .requiredCohort(row.getTierRequiredCohort())
+                .active(row.getTierActive())
+                .benefits(List.of())
+                .build();
+    }
+}
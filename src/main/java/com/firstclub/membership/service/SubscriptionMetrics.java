@@ -0,0 +1,155 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Business-level meters for the subscription write paths. Operation timers are tagged with
+ * the outcome, so failures can be alerted on separately from successes. Serialization
+ * failures and lock timeouts are classified from the SQLSTATE of the underlying
+ * {@link SQLException}, because Spring and Hibernate map them to different exception types
+ * depending on the database. Distribution buckets (SLOs, percentile histograms) are
+ * configured under {@code management.metrics.distribution}.
+ */
+@Component
+public class SubscriptionMetrics {
+
+    public static final String OPERATION_TIMER = "membership.subscription.operation";
+    public static final String LOCK_WAIT_TIMER = "membership.subscription.lock.wait";
+    public static final String SERIALIZATION_FAILURES = "membership.subscription.serialization_failures";
+    public static final String LOCK_TIMEOUTS = "membership.subscription.lock_timeouts";
+    public static final String TIER_UPGRADES = "membership.subscription.tier_upgrades";
+
+    public static final String USER_LOCK = "user";
+    public static final String SUBSCRIPTION_LOCK = "subscription";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_NOT_FOUND = "not_found";
+    static final String OUTCOME_REJECTED = "rejected";
+    static final String OUTCOME_SERIALIZATION_FAILURE = "serialization_failure";
+    static final String OUTCOME_LOCK_TIMEOUT = "lock_timeout";
+    static final String OUTCOME_ERROR = "error";
+
+    // 40001 serialization_failure; 40P01 deadlock_detected (PostgreSQL); 90131 concurrent update (H2)
+    private static final Set<String> SERIALIZATION_STATES = Set.of("40001", "40P01", "90131");
+    // 55P03 lock_not_available (PostgreSQL); HYT00 lock or statement timeout (H2)
+    private static final Set<String> LOCK_TIMEOUT_STATES = Set.of("55P03", "HYT00");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Timer userLockWait;
+    private final Timer subscriptionLockWait;
+
+    public SubscriptionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.userLockWait = lockWaitTimer(USER_LOCK);
+        this.subscriptionLockWait = lockWaitTimer(SUBSCRIPTION_LOCK);
+    }
+
+    public void recordOperation(String operation, long nanos, Throwable failure) {
+        String outcome = failure == null ? OUTCOME_SUCCESS : classify(failure);
+        if (OUTCOME_SERIALIZATION_FAILURE.equals(outcome)) {
+            counter(SERIALIZATION_FAILURES, "Transactions aborted by serialization failures or deadlocks", operation)
+                    .increment();
+        } else if (OUTCOME_LOCK_TIMEOUT.equals(outcome)) {
+            counter(LOCK_TIMEOUTS, "Row lock acquisitions that timed out", operation).increment();
+        }
+        operationTimers.computeIfAbsent(operation + ':' + outcome, key -> Timer.builder(OPERATION_TIMER)
+                        .description("Subscription service operations including their transaction commit")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeLockWait(String lock, Supplier<T> query) {
+        Timer timer = USER_LOCK.equals(lock) ? userLockWait : subscriptionLockWait;
+        long startNanos = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts a tier upgrade once the surrounding transaction commits, so upgrades rolled back
+     * by a serialization failure or lock timeout are not counted.
+     */
+    public void recordTierUpgrade(String fromTier, String toTier, String trigger) {
+        Counter counter = counters.computeIfAbsent(TIER_UPGRADES + ':' + fromTier + ':' + toTier + ':' + trigger,
+                key -> Counter.builder(TIER_UPGRADES)
+                        .description("Subscriptions moved to a higher tier")
+                        .tag("from", fromTier)
+                        .tag("to", toTier)
+                        .tag("trigger", trigger)
+                        .register(meterRegistry));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment();
+            }
+        });
+    }
+
+    static String classify(Throwable failure) {
+        if (failure instanceof ResourceNotFoundException) {
+            return OUTCOME_NOT_FOUND;
+        }
+        if (failure instanceof BusinessException) {
+            return OUTCOME_REJECTED;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String state = sqlException.getSQLState();
+                if (SERIALIZATION_STATES.contains(state)) {
+                    return OUTCOME_SERIALIZATION_FAILURE;
+                }
+                if (LOCK_TIMEOUT_STATES.contains(state)) {
+                    return OUTCOME_LOCK_TIMEOUT;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        if (failure instanceof PessimisticLockingFailureException || failure instanceof QueryTimeoutException) {
+            return OUTCOME_LOCK_TIMEOUT;
+        }
+        return OUTCOME_ERROR;
+    }
+
+    private Timer lockWaitTimer(String lock) {
+        return Timer.builder(LOCK_WAIT_TIMER)
+                .description("Time spent acquiring a pessimistic row lock")
+                .tag("lock", lock)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return counters.computeIfAbsent(name + ':' + operation, key -> Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry));
+    }
+}
@@ -1,5 +1,7 @@
 package com.firstclub.membership.service;
 
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.cache.CurrentSubscriptionEntry;
 import com.firstclub.membership.domain.entity.*;
 import com.firstclub.membership.domain.enums.SubscriptionStatus;
 import com.firstclub.membership.dto.request.OrderUpdateRequest;
@@ -10,20 +12,21 @@ import com.firstclub.membership.dto.response.MembershipTierResponse;
 import com.firstclub.membership.dto.response.SubscriptionResponse;
 import com.firstclub.membership.exception.BusinessException;
 import com.firstclub.membership.exception.ResourceNotFoundException;
+import com.firstclub.membership.logging.LogMarkers;
 import com.firstclub.membership.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class SubscriptionService {
@@ -36,29 +39,41 @@ public class SubscriptionService {
     private final MembershipTierRepository tierRepository;
     private final MembershipPlanService planService;
     private final MembershipTierService tierService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentSubscriptionCache currentSubscriptionCache;
+    private final SubscriptionMetrics metrics;
+    private final TransactionTemplate readOnlyTransaction;
 
     public SubscriptionService(UserSubscriptionRepository subscriptionRepository,
                               UserRepository userRepository,
                               MembershipPlanRepository planRepository,
                               MembershipTierRepository tierRepository,
                               MembershipPlanService planService,
-                              MembershipTierService tierService) {
+                              MembershipTierService tierService,
+                              ApplicationEventPublisher eventPublisher,
+                              CurrentSubscriptionCache currentSubscriptionCache,
+                              SubscriptionMetrics metrics,
+                              PlatformTransactionManager transactionManager) {
         this.subscriptionRepository = subscriptionRepository;
         this.userRepository = userRepository;
         this.planRepository = planRepository;
         this.tierRepository = tierRepository;
         this.planService = planService;
         this.tierService = tierService;
+        this.eventPublisher = eventPublisher;
+        this.currentSubscriptionCache = currentSubscriptionCache;
+        this.metrics = metrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    @CacheEvict(value = "userSubscriptions", key = "#userId")
     public SubscriptionResponse subscribe(Long userId, SubscriptionRequest request) {
         logger.info("Starting subscription creation for userId: {}, planId: {}, tierId: {}", 
                     userId, request.getPlanId(), request.getTierId());
         logger.debug("Acquiring pessimistic lock on user record for userId: {}", userId);
 
-        User user = userRepository.findByIdWithLock(userId)
+        User user = metrics.timeLockWait(SubscriptionMetrics.USER_LOCK, () -> userRepository.findByIdWithLock(userId))
                 .orElseThrow(() -> {
                     logger.error("User not found with id: {}", userId);
                     return new ResourceNotFoundException("User", "id", userId);
@@ -67,9 +82,7 @@ public class SubscriptionService {
         logger.debug("User found: {} (cohort: {})", user.getUsername(), user.getCohort());
         logger.debug("Checking for existing active subscription for userId: {}", userId);
 
-        UserSubscription existingSubscription = subscriptionRepository
-                .findActiveSubscriptionWithLock(userId, LocalDateTime.now())
-                .orElse(null);
+        UserSubscription existingSubscription = lockActiveSubscription(userId).orElse(null);
 
         if (existingSubscription != null) {
             logger.warn("Subscription creation failed - user {} already has active subscription: {}", 
@@ -117,57 +130,56 @@ public class SubscriptionService {
         subscription = subscriptionRepository.save(subscription);
         logger.info("Subscription created successfully - subscriptionId: {}, userId: {}, plan: {}, tier: {}", 
                    subscription.getId(), userId, plan.getName(), tier.getName());
-        logger.debug("Evicting cache for userId: {}", userId);
+        publishChanged(subscription, userId);
+        SubscriptionResponse response = mapToResponse(subscription);
+        logger.debug("Refreshing cached subscription after commit for userId: {}", userId);
+        currentSubscriptionCache.refreshAfterCommit(userId, response);
 
-        return mapToResponse(subscription);
+        return response;
     }
 
-    @Transactional(readOnly = true)
     public SubscriptionResponse getCurrentSubscription(Long userId) {
-        logger.info("Fetching current active subscription for userId: {}", userId);
+        logger.info(LogMarkers.SUBSCRIPTION_READ, "Fetching current active subscription for userId: {}", userId);
         logger.debug("Checking cache for user subscription: {}", userId);
 
-        UserSubscription subscription = subscriptionRepository
-                .findActiveSubscription(userId, LocalDateTime.now())
-                .orElseThrow(() -> {
-                    logger.warn("No active subscription found for userId: {}", userId);
-                    return new ResourceNotFoundException("No active subscription found for user");
-                });
-
-        logger.debug("Active subscription found - subscriptionId: {}, tier: {}, status: {}, expiry: {}", 
-                    subscription.getId(), subscription.getTier().getName(), 
-                    subscription.getStatus(), subscription.getExpiryDate());
-        logger.info("Successfully fetched subscription for userId: {}", userId);
-
-        return mapToResponse(subscription);
-    }
+        CurrentSubscriptionEntry cached = currentSubscriptionCache.get(userId).orElse(null);
+        if (cached != null) {
+            if (!cached.isPresent()) {
+                logger.warn("No active subscription found for userId: {} (cached)", userId);
+                throw new ResourceNotFoundException("No active subscription found for user");
+            }
+            logger.debug("Cache hit for user subscription: {}", userId);
+            return cached.subscription();
+        }
 
-    @Transactional(readOnly = true)
-    public List<SubscriptionResponse> getSubscriptionHistory(Long userId) {
-        logger.info("Fetching subscription history for userId: {}", userId);
+        // Read-only transaction only on a miss, so it can be served by a read replica
+        SubscriptionResponse response = readOnlyTransaction.execute(status -> subscriptionRepository
+                .findActiveSubscription(userId, LocalDateTime.now())
+                .map(subscription -> {
+                    logger.debug("Active subscription found - subscriptionId: {}, status: {}, expiry: {}",
+                                subscription.getId(), subscription.getStatus(), subscription.getExpiryDate());
+                    return mapToResponse(subscription);
+                })
+                .orElse(null));
 
-        List<UserSubscription> subscriptions = subscriptionRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        logger.debug("Found {} subscriptions in history for userId: {}", subscriptions.size(), userId);
+        if (response == null) {
+            logger.warn("No active subscription found for userId: {}", userId);
+            currentSubscriptionCache.populate(userId, null);
+            throw new ResourceNotFoundException("No active subscription found for user");
+        }
 
-        List<SubscriptionResponse> responses = subscriptions.stream()
-                .map(sub -> {
-                    logger.trace("Mapping subscription: {} (status: {})", sub.getId(), sub.getStatus());
-                    return mapToResponse(sub);
-                })
-                .collect(Collectors.toList());
+        currentSubscriptionCache.populate(userId, response);
+        logger.info(LogMarkers.SUBSCRIPTION_READ, "Successfully fetched subscription for userId: {}", userId);
 
-        logger.info("Successfully fetched {} subscriptions for userId: {}", responses.size(), userId);
-        return responses;
+        return response;
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    @CacheEvict(value = "userSubscriptions", key = "#userId")
     public SubscriptionResponse changeTier(Long userId, TierChangeRequest request) {
         logger.info("Starting tier change for userId: {}, newTierId: {}", userId, request.getNewTierId());
         logger.debug("Acquiring pessimistic lock on subscription for userId: {}", userId);
 
-        UserSubscription subscription = subscriptionRepository
-                .findActiveSubscriptionWithLock(userId, LocalDateTime.now())
+        UserSubscription subscription = lockActiveSubscription(userId)
                 .orElseThrow(() -> {
                     logger.error("No active subscription found for userId: {} during tier change", userId);
                     return new ResourceNotFoundException("No active subscription found for user");
@@ -192,6 +204,9 @@ public class SubscriptionService {
         }
 
         String oldTierName = subscription.getTier().getName();
+        if (newTier.getTierLevel() > subscription.getTier().getTierLevel()) {
+            metrics.recordTierUpgrade(oldTierName, newTier.getName(), "manual");
+        }
         subscription.setTier(newTier);
         
         logger.debug("Saving tier change to database");
@@ -199,19 +214,20 @@ public class SubscriptionService {
         
         logger.info("Tier changed successfully for subscriptionId: {} - {} -> {}", 
                    subscription.getId(), oldTierName, newTier.getName());
-        logger.debug("Evicting cache for userId: {}", userId);
+        publishChanged(subscription, userId);
+        SubscriptionResponse response = mapToResponse(subscription);
+        logger.debug("Refreshing cached subscription after commit for userId: {}", userId);
+        currentSubscriptionCache.refreshAfterCommit(userId, response);
 
-        return mapToResponse(subscription);
+        return response;
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    @CacheEvict(value = "userSubscriptions", key = "#userId")
     public void cancelSubscription(Long userId) {
         logger.info("Starting subscription cancellation for userId: {}", userId);
         logger.debug("Acquiring pessimistic lock on subscription for userId: {}", userId);
 
-        UserSubscription subscription = subscriptionRepository
-                .findActiveSubscriptionWithLock(userId, LocalDateTime.now())
+        UserSubscription subscription = lockActiveSubscription(userId)
                 .orElseThrow(() -> {
                     logger.error("No active subscription found for userId: {} during cancellation", userId);
                     return new ResourceNotFoundException("No active subscription found for user");
@@ -228,18 +244,18 @@ public class SubscriptionService {
 
         logger.info("Subscription cancelled successfully - subscriptionId: {}, userId: {}", 
                    subscription.getId(), userId);
-        logger.debug("Evicting cache for userId: {}", userId);
+        publishChanged(subscription, userId);
+        logger.debug("Caching absent subscription after commit for userId: {}", userId);
+        currentSubscriptionCache.refreshAfterCommit(userId, null);
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    @CacheEvict(value = "userSubscriptions", key = "#userId")
     public SubscriptionResponse updateOrderStats(Long userId, OrderUpdateRequest request) {
-        logger.info("Starting order stats update for userId: {}, orderValue: {}", 
+        logger.info(LogMarkers.ORDER_UPDATE, "Starting order stats update for userId: {}, orderValue: {}", 
                    userId, request.getOrderValue());
         logger.debug("Acquiring pessimistic lock on subscription for userId: {}", userId);
 
-        UserSubscription subscription = subscriptionRepository
-                .findActiveSubscriptionWithLock(userId, LocalDateTime.now())
+        UserSubscription subscription = lockActiveSubscription(userId)
                 .orElseThrow(() -> {
                     logger.error("No active subscription found for userId: {} during order update", userId);
                     return new ResourceNotFoundException("No active subscription found for user");
@@ -281,6 +297,7 @@ public class SubscriptionService {
             logger.info("Tier upgrade triggered for userId: {} - {} (level {}) -> {} (level {})", 
                        userId, currentTier, subscription.getTier().getTierLevel(),
                        eligibleTier.getName(), eligibleTier.getTierLevel());
+            metrics.recordTierUpgrade(currentTier, eligibleTier.getName(), "order");
             subscription.setTier(eligibleTier);
         } else {
             logger.debug("No tier upgrade - user remains on tier: {}", currentTier);
@@ -289,13 +306,25 @@ public class SubscriptionService {
         logger.debug("Saving updated subscription to database");
         subscription = subscriptionRepository.save(subscription);
         
-        logger.info("Order stats updated successfully - subscriptionId: {}, orders: {} -> {}, value: {} -> {}, tier: {}", 
+        logger.info(LogMarkers.ORDER_UPDATE, "Order stats updated successfully - subscriptionId: {}, orders: {} -> {}, value: {} -> {}, tier: {}", 
                    subscription.getId(), oldOrderCount, subscription.getOrderCount(),
                    oldOrderValue, subscription.getTotalOrderValue(), 
                    subscription.getTier().getName());
-        logger.debug("Evicting cache for userId: {}", userId);
+        SubscriptionResponse response = mapToResponse(subscription);
+        logger.debug("Refreshing cached subscription after commit for userId: {}", userId);
+        currentSubscriptionCache.refreshAfterCommit(userId, response);
+
+        return response;
+    }
+
+    private Optional<UserSubscription> lockActiveSubscription(Long userId) {
+        return metrics.timeLockWait(SubscriptionMetrics.SUBSCRIPTION_LOCK,
+                () -> subscriptionRepository.findActiveSubscriptionWithLock(userId, LocalDateTime.now()));
+    }
 
-        return mapToResponse(subscription);
+    private void publishChanged(UserSubscription subscription, Long userId) {
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                subscription.getId(), userId, subscription.getStatus(), subscription.getExpiryDate()));
     }
 
     private SubscriptionResponse mapToResponse(UserSubscription subscription) {
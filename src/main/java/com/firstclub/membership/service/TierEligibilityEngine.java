@@ -0,0 +1,198 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers tier eligibility from an immutable, in-memory threshold table instead of
+ * querying {@code membership_tiers} on every order.
+ *
+ * <p>The table is rebuilt from the repository on startup and on a fixed schedule, and
+ * published by a single volatile write, so readers always see a complete table.
+ * Lookups do not allocate.
+ */
+@Component
+public class TierEligibilityEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TierEligibilityEngine.class);
+
+    private final MembershipTierRepository tierRepository;
+
+    private volatile TierThresholdTable table = TierThresholdTable.EMPTY;
+
+    public TierEligibilityEngine(MembershipTierRepository tierRepository) {
+        this.tierRepository = tierRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tier-eligibility.refresh-interval-ms:300000}",
+               initialDelayString = "${app.tier-eligibility.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public void refresh() {
+        List<MembershipTier> tiers = tierRepository.findByActiveTrueOrderByTierLevelAsc();
+        table = TierThresholdTable.build(tiers);
+        logger.info("Tier eligibility table loaded with {} active tiers across {} cohorts",
+                   tiers.size(), table.cohortCount());
+    }
+
+    public MembershipTier findEligibleTier(int orderCount, BigDecimal orderValue, String cohort) {
+        TierThresholdTable current = loadedTable();
+        CohortThresholds thresholds = current.forCohort(cohort);
+        BigDecimal[] minValues = thresholds.minOrderValues;
+        int[] minCounts = thresholds.minOrderCounts;
+        for (int i = 0; i < minCounts.length; i++) {
+            if (minCounts[i] <= orderCount && minValues[i].compareTo(orderValue) <= 0) {
+                return thresholds.tiers[i];
+            }
+        }
+        return current.defaultTier;
+    }
+
+    public MembershipTier findEligibleTier(int orderCount, long orderValueCents, String cohort) {
+        TierThresholdTable current = loadedTable();
+        CohortThresholds thresholds = current.forCohort(cohort);
+        long[] minCents = thresholds.minOrderValueCents;
+        int[] minCounts = thresholds.minOrderCounts;
+        for (int i = 0; i < minCounts.length; i++) {
+            if (minCounts[i] <= orderCount && minCents[i] <= orderValueCents) {
+                return thresholds.tiers[i];
+            }
+        }
+        return current.defaultTier;
+    }
+
+    private TierThresholdTable loadedTable() {
+        TierThresholdTable current = table;
+        if (current == TierThresholdTable.EMPTY) {
+            refresh();
+            current = table;
+        }
+        if (current.defaultTier == null) {
+            logger.error("No active tiers found in database");
+            throw new BusinessException("No active tiers available");
+        }
+        return current;
+    }
+
+    static final class TierThresholdTable {
+
+        static final TierThresholdTable EMPTY = new TierThresholdTable(
+                Map.of(), new CohortThresholds(List.of()), null);
+
+        private final Map<String, CohortThresholds> byCohort;
+        private final CohortThresholds openTiers;
+        private final MembershipTier defaultTier;
+
+        private TierThresholdTable(Map<String, CohortThresholds> byCohort,
+                                   CohortThresholds openTiers,
+                                   MembershipTier defaultTier) {
+            this.byCohort = byCohort;
+            this.openTiers = openTiers;
+            this.defaultTier = defaultTier;
+        }
+
+        static TierThresholdTable build(List<MembershipTier> activeTiers) {
+            List<MembershipTier> tiers = activeTiers.stream()
+                    .map(TierThresholdTable::copyOf)
+                    .sorted(Comparator.comparing(MembershipTier::getTierLevel).reversed())
+                    .toList();
+
+            List<MembershipTier> open = new ArrayList<>();
+            Set<String> cohorts = new LinkedHashSet<>();
+            for (MembershipTier tier : tiers) {
+                if (tier.getRequiredCohort() == null) {
+                    open.add(tier);
+                } else {
+                    cohorts.add(tier.getRequiredCohort());
+                }
+            }
+
+            Map<String, CohortThresholds> byCohort = new HashMap<>();
+            for (String cohort : cohorts) {
+                byCohort.put(cohort, new CohortThresholds(tiers.stream()
+                        .filter(t -> t.getRequiredCohort() == null || t.getRequiredCohort().equals(cohort))
+                        .toList()));
+            }
+
+            MembershipTier defaultTier = tiers.isEmpty() ? null : tiers.get(tiers.size() - 1);
+            return new TierThresholdTable(Map.copyOf(byCohort), new CohortThresholds(open), defaultTier);
+        }
+
+        CohortThresholds forCohort(String cohort) {
+            if (cohort == null) {
+                return openTiers;
+            }
+            CohortThresholds thresholds = byCohort.get(cohort);
+            return thresholds != null ? thresholds : openTiers;
+        }
+
+        int cohortCount() {
+            return byCohort.size();
+        }
+
+        private static MembershipTier copyOf(MembershipTier tier) {
+            return MembershipTier.builder()
+                    .id(tier.getId())
+                    .name(tier.getName())
+                    .description(tier.getDescription())
+                    .tierLevel(tier.getTierLevel())
+                    .minOrderCount(tier.getMinOrderCount())
+                    .minOrderValue(tier.getMinOrderValue())
+                    .requiredCohort(tier.getRequiredCohort())
+                    .active(tier.getActive())
+                    .version(tier.getVersion())
+                    .createdAt(tier.getCreatedAt())
+                    .updatedAt(tier.getUpdatedAt())
+                    .build();
+        }
+    }
+
+    static final class CohortThresholds {
+
+        private final MembershipTier[] tiers;
+        private final int[] minOrderCounts;
+        private final BigDecimal[] minOrderValues;
+        private final long[] minOrderValueCents;
+
+        CohortThresholds(List<MembershipTier> tiersByLevelDesc) {
+            int size = tiersByLevelDesc.size();
+            this.tiers = tiersByLevelDesc.toArray(new MembershipTier[0]);
+            this.minOrderCounts = new int[size];
+            this.minOrderValues = new BigDecimal[size];
+            this.minOrderValueCents = new long[size];
+            for (int i = 0; i < size; i++) {
+                MembershipTier tier = tiers[i];
+                minOrderCounts[i] = tier.getMinOrderCount();
+                minOrderValues[i] = tier.getMinOrderValue();
+                minOrderValueCents[i] = tier.getMinOrderValue()
+                        .setScale(2, RoundingMode.CEILING)
+                        .movePointRight(2)
+                        .longValueExact();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-process cache of each user's cohort. The cohort is fixed when the user registers,
+ * so entries only expire to bound memory. The order path then needs no extra query for
+ * tier eligibility.
+ */
+@Component
+public class UserCohortCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCohortCache.class);
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Optional<String>> cohorts;
+
+    public UserCohortCache(UserRepository userRepository,
+                           @Value("${app.orders.atomic-counters.cohort-cache-size:100000}") long maximumSize,
+                           @Value("${app.orders.atomic-counters.cohort-cache-ttl:1h}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cohorts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build(this::load);
+    }
+
+    public String getCohort(Long userId) {
+        return cohorts.get(userId).orElse(null);
+    }
+
+    private Optional<String> load(Long userId) {
+        logger.debug("Loading cohort for userId: {}", userId);
+        List<UserRepository.CohortView> views = userRepository.findCohortsByIdIn(List.of(userId));
+        return views.isEmpty() ? Optional.empty() : Optional.ofNullable(views.get(0).getCohort());
+    }
+}
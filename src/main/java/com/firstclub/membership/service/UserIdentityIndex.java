@@ -0,0 +1,134 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over every username and email, so registration can skip its existence
+ * queries when a name is definitely new. The filters are loaded at startup, updated as
+ * users are inserted, and rebuilt at a larger size once inserts outgrow the capacity.
+ *
+ * <p>Until the first load completes every key is reported as possibly present. A key
+ * missed while a rebuild races an insert only costs a round trip, because the unique
+ * constraints on {@code users} still reject the duplicate.
+ */
+@Component
+public class UserIdentityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityIndex.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    public UserIdentityIndex(UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.users.identity-index.expected-users:100000}") long expectedUsers,
+                             @Value("${app.users.identity-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.identity-index.capacity-check-ms:600000}",
+               initialDelayString = "${app.users.identity-index.capacity-check-ms:600000}")
+    public void scheduledCapacityCheck() {
+        Filters current = filters;
+        if (current == null || current.inserted.get() <= current.capacity) {
+            return;
+        }
+        logger.info("Identity index holds {} users against a capacity of {}, rebuilding",
+                   current.inserted.get(), current.capacity);
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("Identity index rebuild failed, keeping current filters - error: {}", e.getMessage(), e);
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long userCount = userRepository.count();
+            Filters next = new Filters(Math.max(expectedUsers, userCount * 2), falsePositiveRate);
+            building = next;
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserRepository.IdentityView> identities = userRepository.streamIdentities()) {
+                    identities.forEach(identity -> next.put(identity.getUsername(), identity.getEmail()));
+                }
+            });
+            filters = next;
+            logger.info("Identity index loaded with {} users, capacity {}", next.inserted.get(), next.capacity);
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters current = filters;
+        return current == null || current.usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || current.emails.mightContain(email);
+    }
+
+    public void add(String username, String email) {
+        Filters pending = building;
+        if (pending != null) {
+            pending.put(username, email);
+        }
+        Filters current = filters;
+        if (current != null) {
+            current.put(username, email);
+        }
+    }
+
+    private static final class Filters {
+
+        private final long capacity;
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+        private final AtomicLong inserted = new AtomicLong();
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.usernames = BloomFilter.create(capacity, falsePositiveRate);
+            this.emails = BloomFilter.create(capacity, falsePositiveRate);
+        }
+
+        private void put(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+            inserted.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.firstclub.membership.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.dto.request.UserImportRecord;
+import com.firstclub.membership.exception.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import records one line at a time, so memory does not grow with the input size.
+ * CSV input needs a header row naming the {@link UserImportRecord} fields. Quoted
+ * values may contain commas and doubled quotes, but not line breaks.
+ */
+class UserImportReader {
+
+    private final BufferedReader reader;
+    private final UserImportService.Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long lineNumber;
+
+    UserImportReader(BufferedReader reader, UserImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank line parsed into a record, or {@code null} at the end of
+     * the input. A line that cannot be parsed is returned with an error instead.
+     */
+    Line next() {
+        try {
+            if (format == UserImportService.Format.CSV && columns == null) {
+                readHeader();
+            }
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (!text.isBlank()) {
+                    return parse(text);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            throw new BusinessException("CSV import requires a header row");
+        }
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("username")) {
+            throw new BusinessException("CSV header must include a username column");
+        }
+    }
+
+    private Line parse(String text) {
+        try {
+            UserImportRecord record = format == UserImportService.Format.NDJSON
+                    ? objectMapper.readValue(text, UserImportRecord.class)
+                    : fromCsv(splitCsv(text));
+            return new Line(lineNumber, record, null);
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new Line(lineNumber, null, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    private UserImportRecord fromCsv(List<String> values) {
+        return UserImportRecord.builder()
+                .username(value(values, "username"))
+                .email(value(values, "email"))
+                .passwordHash(value(values, "passwordHash"))
+                .fullName(value(values, "fullName"))
+                .cohort(value(values, "cohort"))
+                .planId(toLong(value(values, "planId")))
+                .tierId(toLong(value(values, "tierId")))
+                .startDate(toDateTime(value(values, "startDate")))
+                .expiryDate(toDateTime(value(values, "expiryDate")))
+                .paidAmount(toDecimal(value(values, "paidAmount")))
+                .build();
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long toLong(String value) {
+        return value == null ? null : Long.valueOf(value.trim());
+    }
+
+    private static BigDecimal toDecimal(String value) {
+        return value == null ? null : new BigDecimal(value.trim());
+    }
+
+    private static LocalDateTime toDateTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    record Line(long number, UserImportRecord record, String error) {
+    }
+}
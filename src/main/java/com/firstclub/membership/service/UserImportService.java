@@ -0,0 +1,261 @@
+package com.firstclub.membership.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.dto.request.UserImportRecord;
+import com.firstclub.membership.dto.response.ImportRowError;
+import com.firstclub.membership.dto.response.MembershipPlanResponse;
+import com.firstclub.membership.dto.response.UserImportResponse;
+import com.firstclub.membership.repository.BulkUserRow;
+import com.firstclub.membership.repository.ImportedSubscription;
+import com.firstclub.membership.repository.UserBulkRepository;
+import com.firstclub.membership.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding of users and their subscriptions from CSV or NDJSON.
+ *
+ * <p>The input is streamed and written in fixed-size batches, so memory stays flat
+ * regardless of file size. Passwords arrive already BCrypt-hashed. Each batch is checked
+ * for existing usernames and emails with two indexed lookups, then inserted in one transaction
+ * through {@link UserBulkRepository}. If a batch still fails, its rows are retried one
+ * at a time so a single bad row is reported without aborting the rest. A
+ * {@link SubscriptionChangedEvent} is published for each imported subscription once its
+ * batch commits, so the expiry wheel picks up imports that fall inside its loaded window.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    private final UserRepository userRepository;
+    private final UserBulkRepository bulkRepository;
+    private final MembershipCatalog catalog;
+    private final UserIdentityIndex identityIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(UserRepository userRepository,
+                             UserBulkRepository bulkRepository,
+                             MembershipCatalog catalog,
+                             UserIdentityIndex identityIndex,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.import.batch-size:1000}") int batchSize,
+                             @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.bulkRepository = bulkRepository;
+        this.catalog = catalog;
+        this.identityIndex = identityIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public UserImportResponse importUsers(InputStream input, Format format) {
+        String writer = bulkRepository.writerName();
+        logger.info("Starting {} user import with batches of {} using {}", format, batchSize, writer);
+        long startNanos = System.nanoTime();
+
+        ImportProgress progress = new ImportProgress();
+        UserImportReader reader = new UserImportReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format, objectMapper);
+        List<BulkUserRow> batch = new ArrayList<>(batchSize);
+        UserImportReader.Line line;
+        while ((line = reader.next()) != null) {
+            progress.totalRows++;
+            if (line.error() != null) {
+                progress.fail(line.number(), null, line.error());
+                continue;
+            }
+            BulkUserRow row = toRow(line.number(), line.record(), progress);
+            if (row == null) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, progress);
+                batch.clear();
+            }
+        }
+        writeBatch(batch, progress);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long rowsPerSecond = elapsedNanos > 0 ? progress.totalRows * 1_000_000_000L / elapsedNanos : 0;
+        logger.info("User import completed - rows: {}, users: {}, subscriptions: {}, failed: {}, took {} ms ({} rows/s)",
+                   progress.totalRows, progress.importedUsers, progress.importedSubscriptions,
+                   progress.failedRows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+
+        return UserImportResponse.builder()
+                .totalRows(progress.totalRows)
+                .importedUsers(progress.importedUsers)
+                .importedSubscriptions(progress.importedSubscriptions)
+                .failedRows(progress.failedRows)
+                .writer(writer)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rowsPerSecond)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failedRows > progress.errors.size())
+                .build();
+    }
+
+    private BulkUserRow toRow(long line, UserImportRecord record, ImportProgress progress) {
+        Set<ConstraintViolation<UserImportRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            progress.fail(line, record.getUsername(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (record.getPlanId() == null) {
+            if (record.getTierId() != null) {
+                progress.fail(line, record.getUsername(), "Plan ID is required when a tier is given");
+                return null;
+            }
+            return new BulkUserRow(line, record.getUsername(), record.getEmail(), record.getPasswordHash(),
+                    record.getFullName(), record.getCohort(), null, null, null, null, null, null);
+        }
+
+        Optional<MembershipPlanResponse> plan = catalog.findPlan(record.getPlanId());
+        if (plan.isEmpty()) {
+            progress.fail(line, record.getUsername(), "Unknown plan ID " + record.getPlanId());
+            return null;
+        }
+        if (record.getTierId() == null || catalog.findTier(record.getTierId()).isEmpty()) {
+            progress.fail(line, record.getUsername(), "Unknown tier ID " + record.getTierId());
+            return null;
+        }
+        LocalDateTime startDate = record.getStartDate() != null ? record.getStartDate() : LocalDateTime.now();
+        LocalDateTime expiryDate = record.getExpiryDate() != null ? record.getExpiryDate()
+                : startDate.plusMonths(plan.get().getDuration().getMonths());
+        if (!expiryDate.isAfter(startDate)) {
+            progress.fail(line, record.getUsername(), "Expiry date must be after start date");
+            return null;
+        }
+        SubscriptionStatus status = expiryDate.isAfter(LocalDateTime.now())
+                ? SubscriptionStatus.ACTIVE : SubscriptionStatus.EXPIRED;
+        return new BulkUserRow(line, record.getUsername(), record.getEmail(), record.getPasswordHash(),
+                record.getFullName(), record.getCohort(), record.getPlanId(), record.getTierId(), status,
+                startDate, expiryDate, record.getPaidAmount());
+    }
+
+    private void writeBatch(List<BulkUserRow> batch, ImportProgress progress) {
+        List<BulkUserRow> rows = withoutDuplicates(batch, progress);
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            List<ImportedSubscription> subscriptions = transactionTemplate.execute(status -> bulkRepository.insert(rows));
+            rows.forEach(row -> identityIndex.add(row.username(), row.email()));
+            progress.importedUsers += rows.size();
+            publishImported(subscriptions, progress);
+            logger.debug("Imported batch of {} users ending at line {}", rows.size(), rows.get(rows.size() - 1).line());
+        } catch (RuntimeException e) {
+            logger.warn("Import batch of {} rows failed, retrying row by row - error: {}",
+                       rows.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (BulkUserRow row : rows) {
+                writeSingle(row, progress);
+            }
+        }
+    }
+
+    private void writeSingle(BulkUserRow row, ImportProgress progress) {
+        try {
+            List<ImportedSubscription> subscriptions =
+                    transactionTemplate.execute(status -> bulkRepository.insert(List.of(row)));
+            identityIndex.add(row.username(), row.email());
+            progress.importedUsers++;
+            publishImported(subscriptions, progress);
+        } catch (RuntimeException e) {
+            progress.fail(row.line(), row.username(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void publishImported(List<ImportedSubscription> subscriptions, ImportProgress progress) {
+        progress.importedSubscriptions += subscriptions.size();
+        for (ImportedSubscription subscription : subscriptions) {
+            eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                    subscription.id(), subscription.userId(), subscription.status(), subscription.expiryDate()));
+        }
+    }
+
+    private List<BulkUserRow> withoutDuplicates(List<BulkUserRow> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (BulkUserRow row : batch) {
+            usernames.add(row.username());
+            emails.add(row.email());
+        }
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<BulkUserRow> rows = new ArrayList<>(batch.size());
+        for (BulkUserRow row : batch) {
+            if (takenUsernames.contains(row.username())) {
+                progress.fail(row.line(), row.username(), AppConstants.ERROR_MESSAGE_USERNAME_EXISTS);
+            } else if (takenEmails.contains(row.email())) {
+                progress.fail(row.line(), row.username(), AppConstants.ERROR_MESSAGE_EMAIL_EXISTS);
+            } else {
+                takenUsernames.add(row.username());
+                takenEmails.add(row.email());
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private final class ImportProgress {
+
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedUsers;
+        private long importedSubscriptions;
+        private long failedRows;
+
+        void fail(long line, String username, String message) {
+            failedRows++;
+            logger.debug("Import row {} rejected - username: {}, error: {}", line, username, message);
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ImportRowError.builder().line(line).username(username).message(message).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.firstclub.membership.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over {@code long} and {@code String} keys. Insertions are
+ * lock-free and may run concurrently with lookups; a negative answer is always exact.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int words = (int) ((bitCount + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    public void put(long key) {
+        long hash = mix(key);
+        setBits((int) hash, (int) (hash >>> 32));
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        return testBits((int) hash, (int) (hash >>> 32));
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        setBits((int) hash, (int) (hash >>> 32));
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        return testBits((int) hash, (int) (hash >>> 32));
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    private void setBits(int h1, int h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    private boolean testBits(int h1, int h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,38 @@
+package com.firstclub.membership.benchmark;
+
+import com.firstclub.membership.MembershipServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.firstclub.membership", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        for (String property : extraProperties) {
+            int separator = property.indexOf('=');
+            properties.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(MembershipServiceApplication.class)
+                .profiles("local")
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
@@ -0,0 +1,85 @@
+package com.firstclub.membership.benchmark;
+
+import com.firstclub.membership.security.JwtClaims;
+import com.firstclub.membership.security.JwtTokenProvider;
+import com.firstclub.membership.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "firstclub-membership-secret-key-minimum-256-bits-required-for-hs256-algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 86_400_000L);
+        UserPrincipal principal = new UserPrincipal(42L, "benchuser", "bench@example.com", null, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return tokenProvider.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Long legacyValidateThenExtract() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> singleParse() {
+        return tokenProvider.parseToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.firstclub.membership.benchmark;
+
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.dto.request.SubscriptionRequest;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.service.SubscriptionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of {@code SubscriptionService.updateOrderStats} from several threads with the
+ * service logging at INFO to a file: {@code off} logs at WARN only, {@code sync} writes
+ * through Spring Boot's default file appender on the request thread, and {@code async}
+ * goes through the ring-buffer appender as sampled JSON lines. Console output is disabled
+ * so JMH's own output stays readable; logs go to {@code target/benchmark-logging.log}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    private static final BigDecimal ORDER_VALUE = new BigDecimal("10.00");
+
+    @Param({"off", "sync", "async"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private UserRepository userRepository;
+    private final AtomicInteger users = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String level = "off".equals(logging) ? "WARN" : "INFO";
+        context = BenchmarkContext.start(
+                "app.subscriptions.expiry.wheel.enabled=false",
+                "logging.level.com.firstclub.membership=" + level,
+                "logging.pattern.console=",
+                "logging.file.name=target/benchmark-logging.log",
+                "app.logging.async.enabled=" + "async".equals(logging));
+        subscriptionService = context.getBean(SubscriptionService.class);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Subscriber {
+
+        private Long userId;
+        private OrderUpdateRequest order;
+
+        @Setup(Level.Trial)
+        public void setUp(LoggingOverheadBenchmark benchmark) {
+            int n = benchmark.users.incrementAndGet();
+            User user = benchmark.userRepository.save(User.builder()
+                    .username("logbench" + n)
+                    .email("logbench" + n + "@example.com")
+                    .password("unused")
+                    .fullName("Logging Benchmark " + n)
+                    .cohort("STANDARD")
+                    .roles(Set.of("USER"))
+                    .build());
+            userId = user.getId();
+
+            SubscriptionRequest request = new SubscriptionRequest();
+            request.setPlanId(3L);
+            request.setTierId(1L);
+            benchmark.subscriptionService.subscribe(userId, request);
+
+            order = new OrderUpdateRequest();
+            order.setOrderValue(ORDER_VALUE);
+        }
+    }
+
+    @Benchmark
+    public SubscriptionResponse updateOrderStats(Subscriber subscriber) {
+        return subscriptionService.updateOrderStats(subscriber.userId, subscriber.order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingOverheadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.firstclub.membership.benchmark;
+
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.dto.request.SubscriptionRequest;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.service.AtomicOrderStatsService;
+import com.firstclub.membership.service.SubscriptionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders recorded concurrently for a single user, comparing the locking
+ * (SERIALIZABLE + {@code SELECT ... FOR UPDATE}) and atomic-increment strategies. The
+ * writer count is the JMH thread count; {@link #main} runs 1, 16 and 256 writers.
+ * Failed writes are reported through the {@code failed} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderStatsContentionBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"locking", "atomic"})
+    private String strategy;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private AtomicOrderStatsService atomicOrderStatsService;
+    private OrderUpdateRequest order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "app.orders.atomic-counters.enabled=true",
+                "app.subscriptions.expiry.wheel.enabled=false");
+        subscriptionService = context.getBean(SubscriptionService.class);
+        atomicOrderStatsService = context.getBean(AtomicOrderStatsService.class);
+
+        SubscriptionRequest subscription = new SubscriptionRequest();
+        subscription.setPlanId(1L);
+        subscription.setTierId(1L);
+        subscriptionService.subscribe(USER_ID, subscription);
+
+        order = new OrderUpdateRequest();
+        order.setOrderValue(new BigDecimal("25.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SubscriptionResponse recordOrder(Outcomes outcomes) {
+        try {
+            SubscriptionResponse response = "atomic".equals(strategy)
+                    ? atomicOrderStatsService.updateOrderStats(USER_ID, order)
+                    : subscriptionService.updateOrderStats(USER_ID, order);
+            outcomes.succeeded++;
+            return response;
+        } catch (RuntimeException e) {
+            outcomes.failed++;
+            return null;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int writers : new int[]{1, 16, 256}) {
+            new Runner(new OptionsBuilder()
+                    .include(OrderStatsContentionBenchmark.class.getSimpleName())
+                    .threads(writers)
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+        }
+    }
+}
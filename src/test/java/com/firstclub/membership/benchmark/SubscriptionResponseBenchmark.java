@@ -0,0 +1,83 @@
+package com.firstclub.membership.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.dto.request.SubscriptionRequest;
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.security.UserPrincipal;
+import com.firstclub.membership.service.SubscriptionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work behind {@code GET /api/subscriptions/current} on the {@code local}
+ * profile: loading the principal, reading and mapping the subscription (the local
+ * profile has no cache, so every call runs the query and {@code mapToResponse}), and
+ * serializing the response envelope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionResponseBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private ObjectMapper objectMapper;
+    private User user;
+    private ApiResponse<SubscriptionResponse> envelope;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.subscriptions.expiry.wheel.enabled=false");
+        subscriptionService = context.getBean(SubscriptionService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        user = context.getBean(UserRepository.class).findById(USER_ID).orElseThrow();
+
+        SubscriptionRequest request = new SubscriptionRequest();
+        request.setPlanId(1L);
+        request.setTierId(2L);
+        SubscriptionResponse subscription = subscriptionService.subscribe(USER_ID, request);
+        envelope = ApiResponse.success(subscription);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPrincipal createUserPrincipal() {
+        return UserPrincipal.create(user);
+    }
+
+    @Benchmark
+    public SubscriptionResponse getCurrentSubscription() {
+        return subscriptionService.getCurrentSubscription(USER_ID);
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SubscriptionResponseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.firstclub.membership.benchmark;
+
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import com.firstclub.membership.service.MembershipTierService;
+import com.firstclub.membership.service.TierEligibilityEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TierEligibilityBenchmark {
+
+    @Param({"STANDARD", "VIP"})
+    private String cohort;
+
+    private ConfigurableApplicationContext context;
+    private MembershipTierRepository tierRepository;
+    private TierEligibilityEngine eligibilityEngine;
+    private MembershipTierService tierService;
+
+    private final Integer orderCount = 12;
+    private final BigDecimal orderValue = new BigDecimal("1750.00");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        tierRepository = context.getBean(MembershipTierRepository.class);
+        eligibilityEngine = context.getBean(TierEligibilityEngine.class);
+        eligibilityEngine.refresh();
+        tierService = context.getBean(MembershipTierService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MembershipTier repositoryQuery() {
+        List<MembershipTier> eligible = tierRepository.findEligibleTiers(orderCount, orderValue, cohort);
+        if (eligible.isEmpty()) {
+            return tierRepository.findByActiveTrueOrderByTierLevelAsc().get(0);
+        }
+        return eligible.get(0);
+    }
+
+    @Benchmark
+    public MembershipTier inMemoryEngine() {
+        return eligibilityEngine.findEligibleTier(orderCount, orderValue, cohort);
+    }
+
+    @Benchmark
+    public MembershipTier tierService() {
+        return tierService.findEligibleTier(orderCount, orderValue, cohort);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TierEligibilityBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
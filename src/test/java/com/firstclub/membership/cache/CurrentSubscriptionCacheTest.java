@@ -0,0 +1,139 @@
+package com.firstclub.membership.cache;
+
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.dto.response.MembershipTierResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.dto.response.TierBenefitResponse;
+import com.firstclub.membership.domain.enums.BenefitType;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentSubscriptionCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CurrentSubscriptionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(AppConstants.CACHE_USER_SUBSCRIPTIONS);
+        cache = cacheAt(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void populate_CapsEntryAtSubscriptionExpiry() {
+        cache.populate(1L, subscription(NOW.plusSeconds(60)));
+        cache.populate(2L, subscription(NOW.plus(Duration.ofDays(30))));
+        cache.populate(3L, subscription(NOW.minusSeconds(1)));
+
+        assertEquals(NOW.plusSeconds(60).toEpochMilli(), cache.get(1L).orElseThrow().expiresAtMillis());
+        assertEquals(NOW.plus(Duration.ofMinutes(10)).toEpochMilli(), cache.get(2L).orElseThrow().expiresAtMillis());
+        assertTrue(cache.get(3L).isEmpty());
+
+        CurrentSubscriptionCache later = cacheAt(Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        assertTrue(later.get(1L).isEmpty());
+        assertNull(cacheManager.getCache(AppConstants.CACHE_USER_SUBSCRIPTIONS).get(1L));
+    }
+
+    @Test
+    void populate_CachesAbsenceBriefly() {
+        cache.populate(1L, null);
+
+        CurrentSubscriptionEntry entry = cache.get(1L).orElseThrow();
+        assertFalse(entry.isPresent());
+        assertEquals(NOW.plusSeconds(30).toEpochMilli(), entry.expiresAtMillis());
+    }
+
+    @Test
+    void refreshAfterCommit_OverwritesOnlyOnCommitAndReadersDoNotReplaceIt() {
+        cache.populate(1L, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        SubscriptionResponse fresh = subscription(NOW.plus(Duration.ofDays(30)));
+        cache.refreshAfterCommit(1L, fresh);
+        assertFalse(cache.get(1L).orElseThrow().isPresent());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        cache.populate(1L, null);
+
+        assertSame(fresh, cache.get(1L).orElseThrow().subscription());
+    }
+
+    @Test
+    void refreshAfterCommit_WritesThroughTransactionAwareCacheManager() {
+        CurrentSubscriptionCache transactional = new CurrentSubscriptionCache(
+                new TransactionAwareCacheManagerProxy(cacheManager), Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofMinutes(10), Duration.ofSeconds(30));
+        transactional.populate(1L, subscription(NOW.plus(Duration.ofDays(30))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        transactional.refreshAfterCommit(1L, null);
+        // Like the transaction manager, only run the synchronizations registered before commit
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+        for (TransactionSynchronization synchronization : registered) {
+            synchronization.afterCommit();
+        }
+
+        assertFalse(transactional.get(1L).orElseThrow().isPresent());
+    }
+
+    @Test
+    void redisSerializer_RoundTripsEntryAndTtlFollowsDeadline() {
+        RedisSerializer<CurrentSubscriptionEntry> serializer = CurrentSubscriptionCache.redisSerializer();
+        SubscriptionResponse subscription = subscription(NOW.plus(Duration.ofDays(30)));
+        subscription.setTier(MembershipTierResponse.builder()
+                .id(1L)
+                .name("Silver")
+                .benefits(List.of(TierBenefitResponse.builder().id(1L).benefitType(BenefitType.FREE_DELIVERY).build()))
+                .build());
+        CurrentSubscriptionEntry entry = new CurrentSubscriptionEntry(subscription, NOW.toEpochMilli());
+
+        CurrentSubscriptionEntry copy = serializer.deserialize(serializer.serialize(entry));
+
+        assertEquals(entry, copy);
+        long remaining = System.currentTimeMillis() + 5_000;
+        Duration ttl = CurrentSubscriptionCache.timeToLive(new CurrentSubscriptionEntry(null, remaining), Duration.ZERO);
+        assertTrue(ttl.toMillis() > 4_000 && ttl.toMillis() <= 5_000);
+        assertEquals(Duration.ofMinutes(10), CurrentSubscriptionCache.timeToLive("other", Duration.ofMinutes(10)));
+    }
+
+    private CurrentSubscriptionCache cacheAt(Clock clock) {
+        return new CurrentSubscriptionCache(cacheManager, clock, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    private SubscriptionResponse subscription(Instant expiry) {
+        return SubscriptionResponse.builder()
+                .id(10L)
+                .userId(1L)
+                .status(SubscriptionStatus.ACTIVE)
+                .startDate(LocalDateTime.ofInstant(NOW.minus(Duration.ofDays(1)), ZoneOffset.UTC))
+                .expiryDate(LocalDateTime.ofInstant(expiry, ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.firstclub.membership.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisIdempotencyStoreTest {
+
+    private static final String LOCK_KEY = "membership:idempotency-lock:order:1:key-1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisIdempotencyStore(redisTemplate, new ObjectMapper(), Duration.ofHours(1), Duration.ofMinutes(3));
+    }
+
+    @Test
+    void tryLock_ClaimsWithTokenAndReleasesOnlyThatToken() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), eq(Duration.ofMinutes(3)))).thenReturn(true);
+
+        String token = store.tryLock("order:1:key-1");
+        store.unlock("order:1:key-1", token);
+
+        assertNotNull(token);
+        verify(valueOperations).setIfAbsent(LOCK_KEY, token, Duration.ofMinutes(3));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LOCK_KEY)), eq(token));
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void tryLock_HeldElsewhere_ReturnsNull() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertNull(store.tryLock("order:1:key-1"));
+    }
+}
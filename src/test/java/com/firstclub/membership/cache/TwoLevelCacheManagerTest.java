@@ -0,0 +1,81 @@
+package com.firstclub.membership.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheManagerTest {
+
+    private ConcurrentMapCacheManager sharedCacheManager;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedCacheManager = new ConcurrentMapCacheManager();
+        InMemoryInvalidationBus bus = new InMemoryInvalidationBus();
+        nodeA = new TwoLevelCacheManager(sharedCacheManager, bus, 100, Duration.ofMinutes(1));
+        nodeB = new TwoLevelCacheManager(sharedCacheManager, bus, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ServesNearHitWithoutSharedLookup() {
+        nodeA.getCache("plans").put(1L, "Monthly");
+        sharedCacheManager.getCache("plans").evict(1L);
+
+        assertEquals("Monthly", nodeA.getCache("plans").get(1L, String.class));
+    }
+
+    @Test
+    void put_DropsOtherNodesNearCopy() {
+        Cache cacheA = nodeA.getCache("plans");
+        Cache cacheB = nodeB.getCache("plans");
+        cacheA.put(1L, "Monthly");
+        assertEquals("Monthly", cacheB.get(1L, String.class));
+
+        cacheA.put(1L, "Monthly v2");
+
+        assertEquals("Monthly v2", cacheB.get(1L, String.class));
+    }
+
+    @Test
+    void evictAndClear_DropOtherNodesNearCopy() {
+        Cache cacheA = nodeA.getCache("plans");
+        Cache cacheB = nodeB.getCache("plans");
+        cacheA.put(1L, "Monthly");
+        cacheA.put(2L, "Yearly");
+        cacheB.get(1L);
+        cacheB.get(2L);
+
+        cacheA.evict(1L);
+        assertNull(cacheB.get(1L));
+        assertNotNull(cacheB.get(2L));
+
+        cacheA.clear();
+        assertNull(cacheB.get(2L));
+    }
+
+    private static final class InMemoryInvalidationBus implements CacheInvalidationBus {
+
+        private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            CacheInvalidation decoded = CacheInvalidation.decode(invalidation.encode());
+            listeners.forEach(listener -> listener.accept(decoded));
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            listeners.add(listener);
+        }
+    }
+}
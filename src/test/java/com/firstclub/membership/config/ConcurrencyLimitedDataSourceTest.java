@@ -0,0 +1,124 @@
+package com.firstclub.membership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_HoldsPermitUntilClosedOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_TimesOutWhenAllPermitsHeld() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_QueuedCallerProceedsWhenPermitReleased() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource patient = new ConcurrencyLimitedDataSource(target, 1, Duration.ofSeconds(5));
+        Connection held = patient.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return patient.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (patient.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(0, patient.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void unwrap_DelegatesToPooledConnection() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.unwrap(String.class)).thenReturn("raw");
+
+        Connection limited = dataSource.getConnection();
+
+        assertSame(limited, limited.unwrap(Connection.class));
+        assertEquals("raw", limited.unwrap(String.class));
+    }
+
+    @Test
+    void poolSize_CoversPrimaryAndEveryReplicaBehindTheRouter() {
+        HikariDataSource primary = pool(20);
+        try (ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary,
+                List.of(pool(8), pool(8)), () -> null, Duration.ofSeconds(5), Duration.ofSeconds(1), null,
+                Duration.ofSeconds(10), new SimpleMeterRegistry())) {
+            assertEquals(20, DataSourceConcurrencyConfig.poolSize(primary));
+            assertEquals(36, DataSourceConcurrencyConfig.poolSize(new LazyConnectionDataSourceProxy(routing)));
+        }
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
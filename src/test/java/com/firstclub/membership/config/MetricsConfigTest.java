@@ -0,0 +1,104 @@
+package com.firstclub.membership.config;
+
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.dto.request.BatchOrderUpdateRequest;
+import com.firstclub.membership.dto.request.OrderRecord;
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import com.firstclub.membership.service.AtomicOrderStatsService;
+import com.firstclub.membership.service.MembershipPlanService;
+import com.firstclub.membership.service.MembershipTierService;
+import com.firstclub.membership.service.OrderBatchService;
+import com.firstclub.membership.service.SubscriptionMetrics;
+import com.firstclub.membership.service.UserCohortCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MembershipPlanService planService;
+
+    @Mock
+    private MembershipTierService tierService;
+
+    @Mock
+    private UserCohortCache cohortCache;
+
+    @Mock
+    private CurrentSubscriptionCache currentSubscriptionCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Advisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("subscriptionMetrics", new SubscriptionMetrics(meterRegistry));
+        advisor = MetricsConfig.subscriptionOperationMetricsAdvisor(beanFactory.getBeanProvider(SubscriptionMetrics.class));
+    }
+
+    @Test
+    void advisor_TimesAtomicOrderStatsUpdates() {
+        when(subscriptionRepository.incrementOrderStats(eq(1L), any(), any())).thenReturn(0);
+        AtomicOrderStatsService service = (AtomicOrderStatsService) proxy(new AtomicOrderStatsService(subscriptionRepository, planService,
+                tierService, cohortCache, currentSubscriptionCache, new SubscriptionMetrics(meterRegistry)));
+
+        OrderUpdateRequest request = OrderUpdateRequest.builder().orderValue(BigDecimal.TEN).build();
+        assertThrows(ResourceNotFoundException.class, () -> service.updateOrderStats(1L, request));
+
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.OPERATION_TIMER)
+                .tag("operation", "updateOrderStats").tag("outcome", "not_found").timer().count());
+    }
+
+    @Test
+    void advisor_TimesBatchOrderUpdates() {
+        OrderBatchService service = (OrderBatchService) proxy(new OrderBatchService(subscriptionRepository, userRepository, planService,
+                tierService, currentSubscriptionCache, transactionManager, 1, 10));
+
+        BatchOrderUpdateRequest request = BatchOrderUpdateRequest.builder()
+                .orders(List.of(new OrderRecord(1L, BigDecimal.ONE), new OrderRecord(2L, BigDecimal.ONE)))
+                .build();
+        assertThrows(BusinessException.class, () -> service.updateOrderStatsBatch(request));
+
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.OPERATION_TIMER)
+                .tag("operation", "updateOrderStatsBatch").tag("outcome", "rejected").timer().count());
+    }
+
+    private Object proxy(Object target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,143 @@
+package com.firstclub.membership.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final Duration STICKY_WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Object> currentUser = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SwitchableDataSource replica;
+    private ReadReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        new JdbcTemplate(replica).execute("CREATE TABLE replication_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).execute("INSERT INTO replication_lag VALUES (0)");
+
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), currentUser::get, STICKY_WINDOW,
+                Duration.ofSeconds(1), "SELECT seconds FROM replication_lag", Duration.ofSeconds(10),
+                meterRegistry, nanos::get);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplica_OthersToPrimary() {
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+        assertEquals("primary", readWrite.execute(status -> whoAnswers()));
+        assertEquals("primary", whoAnswers());
+        assertEquals(1.0, meterRegistry.counter("membership.db.connections.routed", "target", "replica").count());
+    }
+
+    @Test
+    void readsStayOnPrimaryWithinStickyWindowAfterWrite() {
+        currentUser.set(42L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = 'primary'"));
+
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+
+        currentUser.set(7L);
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()), "other users are not sticky");
+
+        currentUser.set(42L);
+        nanos.addAndGet(STICKY_WINDOW.toNanos() + TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+    }
+
+    @Test
+    void failedReplica_FallsBackToPrimaryUntilHealthCheckPasses() {
+        replica.down = true;
+
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+        assertEquals(0, routing.getHealthyReplicas());
+
+        routing.checkReplicas();
+        assertEquals(0, routing.getHealthyReplicas());
+
+        replica.down = false;
+        routing.checkReplicas();
+        assertEquals(1, routing.getHealthyReplicas());
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+    }
+
+    @Test
+    void laggingReplica_TakenOutOfRotation() {
+        new JdbcTemplate(replica).update("UPDATE replication_lag SET seconds = 30");
+
+        routing.checkReplicas();
+
+        assertEquals(0, routing.getHealthyReplicas());
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+        assertEquals(1.0, meterRegistry.counter("membership.db.connections.routed", "target", "primary-fallback").count());
+    }
+
+    private String whoAnswers() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.firstclub.membership.config;
+
+import com.firstclub.membership.dto.request.SubscriptionRequest;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.security.UserPrincipal;
+import com.firstclub.membership.service.SubscriptionService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing through {@link SubscriptionService} against two H2 databases. The replica is a copy
+ * of the primary taken before the subscription exists, so which one answered shows in the
+ * result.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingSubscriptionTest.REPLICA_URL,
+        "app.subscriptions.expiry.wheel.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class ReadReplicaRoutingSubscriptionTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentSubscription_ReadsReplicaExceptRightAfterTheUsersOwnWrite() {
+        UserPrincipal principal = UserPrincipal.create(userRepository.findById(USER_ID).orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        SubscriptionRequest request = new SubscriptionRequest();
+        request.setPlanId(1L);
+        request.setTierId(1L);
+        Long subscriptionId = subscriptionService.subscribe(USER_ID, request).getId();
+
+        assertEquals(subscriptionId, subscriptionService.getCurrentSubscription(USER_ID).getId(),
+                "the user's read after their own write stays on the primary");
+
+        SecurityContextHolder.clearContext();
+        assertThrows(ResourceNotFoundException.class, () -> subscriptionService.getCurrentSubscription(USER_ID),
+                "without a sticky user the read-only transaction is served by the replica");
+    }
+
+    /**
+     * Copies the primary into the replica once schema and seed data exist, before the
+     * startup loaders read through the replica.
+     */
+    @TestConfiguration
+    static class ReplicaSnapshot {
+
+        @Bean
+        ApplicationListener<ContextRefreshedEvent> copyPrimaryToReplica(DataSource dataSource) {
+            return event -> {
+                try {
+                    Path script = Files.createTempFile("primary", ".sql");
+                    new JdbcTemplate(dataSource).execute("SCRIPT TO '" + script + "'");
+                    JdbcDataSource replica = new JdbcDataSource();
+                    replica.setURL(REPLICA_URL);
+                    replica.setUser("sa");
+                    new JdbcTemplate(replica).execute("RUNSCRIPT FROM '" + script + "'");
+                    Files.delete(script);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+        }
+    }
+}
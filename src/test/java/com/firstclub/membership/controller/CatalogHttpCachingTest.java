@@ -0,0 +1,144 @@
+package com.firstclub.membership.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.domain.enums.PlanDuration;
+import com.firstclub.membership.dto.response.MembershipPlanResponse;
+import com.firstclub.membership.service.MembershipCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogHttpCachingTest {
+
+    private static final String HASH = "0123456789abcdef";
+
+    @Mock
+    private MembershipCatalog catalog;
+
+    @Mock
+    private ObjectProvider<PreSerializedCatalog> preSerializedProvider;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private PreSerializedCatalog preSerialized;
+    private CatalogHttpCaching httpCaching;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        List<MembershipPlanResponse> plans = LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> MembershipPlanResponse.builder()
+                        .id(id).name("Plan " + id).description("Membership plan number " + id)
+                        .duration(PlanDuration.MONTHLY).price(new BigDecimal("9.99")).active(true)
+                        .build())
+                .toList();
+        lenient().when(catalog.getContentHash()).thenReturn(HASH);
+        lenient().when(catalog.getPlans()).thenReturn(plans);
+        lenient().when(catalog.getTiers()).thenReturn(List.of());
+
+        preSerialized = new PreSerializedCatalog(catalog, objectMapper, true);
+        when(preSerializedProvider.getIfAvailable()).thenReturn(preSerialized);
+        httpCaching = new CatalogHttpCaching(catalog, preSerializedProvider, Duration.ofSeconds(60), Duration.ofMinutes(5));
+
+        request = new MockHttpServletRequest("GET", "/api/plans");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void respond_WritesPreSerializedBytesWithoutCallingSupplier() throws IOException {
+        ResponseEntity<?> result = httpCaching.respond(new ServletWebRequest(request, response), "plans",
+                () -> fail("Supplier must not be called for pre-serialized resources"));
+
+        assertNull(result);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("\"plans-" + HASH + "\"", response.getHeader("ETag"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertTrue(response.getHeader("Cache-Control").contains("public"));
+
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertTrue(body.get("success").asBoolean());
+        assertEquals(10, body.get("data").size());
+        assertEquals("Plan 1", body.get("data").get(0).get("name").asText());
+    }
+
+    @Test
+    void respond_GzipVariantWhenAccepted() throws IOException {
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+
+        httpCaching.respond(new ServletWebRequest(request, response), "plans", List::of);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("\"plans-gzip-" + HASH + "\"", response.getHeader("ETag"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(10, objectMapper.readTree(in).get("data").size());
+        }
+    }
+
+    @Test
+    void respond_NotModifiedForMatchingVariantEtag() {
+        request.addHeader("Accept-Encoding", "gzip");
+        request.addHeader("If-None-Match", "\"plans-gzip-" + HASH + "\"");
+
+        ResponseEntity<?> result = httpCaching.respond(new ServletWebRequest(request, response), "plans", List::of);
+
+        assertNotNull(result);
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void respond_UnknownIdFallsBackToSupplier() {
+        ResponseEntity<?> result = httpCaching.respond(new ServletWebRequest(request, response), "plan-99",
+                () -> "from service");
+
+        assertNotNull(result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"plan-99-" + HASH + "\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void find_ReusesBodiesUntilContentHashChanges() {
+        PreSerializedCatalog.Body first = preSerialized.find("plan-1");
+        assertSame(first, preSerialized.find("plan-1"));
+        verify(catalog, times(1)).getPlans();
+
+        when(catalog.getContentHash()).thenReturn("fedcba9876543210");
+        PreSerializedCatalog.Body rebuilt = preSerialized.find("plan-1");
+
+        assertNotSame(first, rebuilt);
+        assertEquals("\"plan-1-fedcba9876543210\"", rebuilt.etag());
+        verify(catalog, times(2)).getPlans();
+    }
+
+    @Test
+    void acceptsGzip_HonoursZeroQualityAndWildcard() {
+        assertTrue(CatalogHttpCaching.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CatalogHttpCaching.acceptsGzip("*"));
+        assertFalse(CatalogHttpCaching.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogHttpCaching.acceptsGzip("deflate, br"));
+        assertFalse(CatalogHttpCaching.acceptsGzip(null));
+    }
+}
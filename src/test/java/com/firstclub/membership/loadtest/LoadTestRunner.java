@@ -0,0 +1,285 @@
+package com.firstclub.membership.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.firstclub.membership.MembershipServiceApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * End-to-end load test of the real stack: it boots the application on the {@code local}
+ * profile on a random port and registers synthetic users. One virtual-thread client per
+ * user then runs the Postman collection's subscription flow over HTTP: subscribe,
+ * current, order, tier change, cancel. Throughput and p50/p95/p99/p999 latency per
+ * endpoint are written as JSON to {@code load.output} so runs from different builds can
+ * be compared.
+ *
+ * <p>Run with {@code mvn -Pload-test verify}. Tune with {@code -Dload.users},
+ * {@code -Dload.iterations}, {@code -Dload.orders} and {@code -Dload.output}.
+ */
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "secret123";
+    private static final String REGISTER = "POST /api/auth/register";
+    private static final String SUBSCRIBE = "POST /api/subscriptions";
+    private static final String CURRENT = "GET /api/subscriptions/current";
+    private static final String ORDER = "POST /api/subscriptions/order";
+    private static final String CHANGE_TIER = "PUT /api/subscriptions/tier";
+    private static final String CANCEL = "DELETE /api/subscriptions";
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, EndpointStats> registrationStats = endpoints(REGISTER);
+    private final Map<String, EndpointStats> scenarioStats = endpoints(SUBSCRIBE, CURRENT, ORDER, CHANGE_TIER, CANCEL);
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    private LoadTestRunner(String baseUrl, ExecutorService executor, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 200);
+        int iterations = Integer.getInteger("load.iterations", 5);
+        int orders = Integer.getInteger("load.orders", 3);
+        Duration requestTimeout = Duration.ofSeconds(Integer.getInteger("load.timeout-seconds", 60));
+        Path output = Path.of(System.getProperty("load.output", "target/load-test-report.json"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MembershipServiceApplication.class)
+                .profiles("local")
+                .run("--server.port=0",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.firstclub.membership=WARN",
+                     "--logging.level.org.springframework.security=WARN",
+                     "--logging.level.org.hibernate.SQL=WARN",
+                     "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                     "--spring.jpa.show-sql=false",
+                     "--app.rate-limit.enabled=false",
+                     "--spring.main.banner-mode=off");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadTestRunner runner = new LoadTestRunner("http://localhost:" + port, executor, requestTimeout);
+            Map<String, Object> report = runner.run(executor, users, iterations, orders);
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            runner.objectMapper.writeValue(output.toFile(), report);
+            runner.print(report);
+            System.out.println("Report written to " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Object> run(ExecutorService executor, int users, int iterations, int orders)
+            throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long registrationStartNanos = System.nanoTime();
+        List<Future<String>> registrations = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String username = "load" + runId + "u" + i;
+            registrations.add(executor.submit(() -> register(username)));
+        }
+        List<String> tokens = new ArrayList<>(users);
+        for (Future<String> registration : registrations) {
+            String token = registration.get();
+            if (token != null) {
+                tokens.add(token);
+            }
+        }
+        long registrationNanos = System.nanoTime() - registrationStartNanos;
+
+        long startNanos = System.nanoTime();
+        List<Future<?>> clients = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            clients.add(executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    scenario(token, orders);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("users", tokens.size());
+        report.put("iterationsPerUser", iterations);
+        report.put("ordersPerIteration", orders);
+        report.put("registration", summarize(registrationStats, registrationNanos));
+        report.put("scenario", summarize(scenarioStats, elapsedNanos));
+        return report;
+    }
+
+    private Map<String, Object> summarize(Map<String, EndpointStats> stats, long elapsedNanos) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            Histogram histogram = endpoint.latency;
+            totalRequests += histogram.getTotalCount();
+            totalErrors += endpoint.errors.get();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", histogram.getTotalCount());
+            summary.put("errors", endpoint.errors.get());
+            if (endpoint.firstError.get() != null) {
+                summary.put("firstError", endpoint.firstError.get());
+            }
+            summary.put("throughputPerSecond", perSecond(histogram.getTotalCount(), elapsedNanos));
+            summary.put("meanMs", histogram.getMean() / 1_000_000.0);
+            summary.put("p50Ms", millis(histogram, 50.0));
+            summary.put("p95Ms", millis(histogram, 95.0));
+            summary.put("p99Ms", millis(histogram, 99.0));
+            summary.put("p999Ms", millis(histogram, 99.9));
+            summary.put("maxMs", histogram.getMaxValue() / 1_000_000.0);
+            endpoints.put(entry.getKey(), summary);
+        }
+
+        Map<String, Object> phase = new LinkedHashMap<>();
+        phase.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        phase.put("requests", totalRequests);
+        phase.put("errors", totalErrors);
+        phase.put("throughputPerSecond", perSecond(totalRequests, elapsedNanos));
+        phase.put("endpoints", endpoints);
+        return phase;
+    }
+
+    private void scenario(String token, int orders) {
+        send(scenarioStats, SUBSCRIBE, token, "{\"planId\":1,\"tierId\":1}");
+        send(scenarioStats, CURRENT, token, null);
+        for (int i = 0; i < orders; i++) {
+            send(scenarioStats, ORDER, token, "{\"orderValue\":150.00}");
+        }
+        send(scenarioStats, CHANGE_TIER, token, "{\"newTierId\":2}");
+        send(scenarioStats, CURRENT, token, null);
+        send(scenarioStats, CANCEL, token, null);
+    }
+
+    private String register(String username) throws IOException {
+        String body = "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\"," +
+                "\"password\":\"" + PASSWORD + "\",\"fullName\":\"Load Test\"}";
+        HttpResponse<String> response = send(registrationStats, REGISTER, null, body);
+        if (response == null || response.statusCode() >= 300) {
+            return null;
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.path("data").path("token").asText(null);
+    }
+
+    private HttpResponse<String> send(Map<String, EndpointStats> stats, String endpoint, String token, String body) {
+        int space = endpoint.indexOf(' ');
+        String method = endpoint.substring(0, space);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.substring(space + 1)))
+                .timeout(requestTimeout)
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        EndpointStats endpointStats = stats.get(endpoint);
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            long nanos = System.nanoTime() - startNanos;
+            endpointStats.record(nanos, response.statusCode() >= 400 ? response.statusCode() + " " + response.body() : null);
+            return response;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - startNanos, e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void print(Map<String, Object> report) {
+        printPhase("Registration", report.get("registration"));
+        printPhase("Scenario", report.get("scenario"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void printPhase(String name, Object phaseReport) {
+        Map<String, Object> phase = (Map<String, Object>) phaseReport;
+        System.out.printf("%n%s%n", name);
+        System.out.printf("%n%-34s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) phase.get("endpoints");
+        endpoints.forEach((endpoint, summary) -> System.out.printf("%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, summary.get("requests"), summary.get("errors"), summary.get("throughputPerSecond"),
+                summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("p999Ms")));
+        System.out.printf("Total: %d requests, %d errors in %d ms (%.1f req/s)%n",
+                phase.get("requests"), phase.get("errors"), phase.get("durationMs"),
+                phase.get("throughputPerSecond"));
+    }
+
+    private static Map<String, EndpointStats> endpoints(String... names) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String name : names) {
+            stats.put(name, new EndpointStats());
+        }
+        return stats;
+    }
+
+    private static double perSecond(long count, long elapsedNanos) {
+        return elapsedNanos > 0 ? count * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static final class EndpointStats {
+
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+
+        void record(long nanos, String error) {
+            latency.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+            if (error != null) {
+                errors.incrementAndGet();
+                firstError.compareAndSet(null, error.length() > 500 ? error.substring(0, 500) : error);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRingBufferAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private BlockingAppender target;
+    private AsyncRingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("test");
+        target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        appender = new AsyncRingBufferAppender();
+        appender.setContext(context);
+        appender.setBufferSize(2);
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    @Test
+    void append_DropsAndCountsInsteadOfBlockingWhenFull() throws InterruptedException {
+        appender.doAppend(event("first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("queued " + i));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1000);
+        assertEquals(8, appender.getDroppedCount());
+
+        target.release.countDown();
+        appender.stop();
+        assertEquals(List.of("first", "queued 0", "queued 1"), target.messages);
+    }
+
+    @Test
+    void append_FormatsMessageOnCallingThread() throws InterruptedException {
+        target.release.countDown();
+        StringBuilder mutable = new StringBuilder("before");
+        appender.doAppend(new LoggingEvent("test", logger, Level.INFO, "value {}", null, new Object[]{mutable}));
+        mutable.replace(0, mutable.length(), "after");
+
+        appender.stop();
+        assertEquals(List.of("value before"), target.messages);
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent("test", logger, Level.INFO, message, null, null);
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
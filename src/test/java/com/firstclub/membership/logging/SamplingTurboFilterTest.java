@@ -0,0 +1,54 @@
+package com.firstclub.membership.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private Logger logger;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logger = new LoggerContext().getLogger("test");
+        logger.setLevel(Level.INFO);
+        filter = new SamplingTurboFilter(Map.of("order-update", 4));
+    }
+
+    @Test
+    void decide_KeepsOneInNForMarkedEvents() {
+        int kept = 0;
+        for (int i = 0; i < 100; i++) {
+            if (decide(LogMarkers.ORDER_UPDATE, Level.INFO) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        assertEquals(25, kept);
+        assertEquals(75, filter.getSampledOutCount());
+        assertEquals(FilterReply.NEUTRAL, decide(LogMarkers.SUBSCRIPTION_READ, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(null, Level.INFO));
+    }
+
+    @Test
+    void decide_NeverSamplesWarningsOrDisabledLevels() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(LogMarkers.ORDER_UPDATE, Level.WARN));
+            assertEquals(FilterReply.NEUTRAL, decide(LogMarkers.ORDER_UPDATE, Level.DEBUG));
+        }
+        assertEquals(0, filter.getSampledOutCount());
+    }
+
+    private FilterReply decide(Marker marker, Level level) {
+        return filter.decide(marker, logger, level, "Order stats updated - subscriptionId: {}", null, null);
+    }
+}
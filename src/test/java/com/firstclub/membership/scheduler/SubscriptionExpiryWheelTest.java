@@ -0,0 +1,185 @@
+package com.firstclub.membership.scheduler;
+
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import com.firstclub.membership.service.SubscriptionChangedEvent;
+import com.firstclub.membership.service.SubscriptionExpiryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionExpiryWheelTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionExpiryService expiryService;
+
+    private MutableClock clock;
+    private SubscriptionExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        wheel = new SubscriptionExpiryWheel(subscriptionRepository, expiryService, new SimpleMeterRegistry(),
+                clock, 1000, 3_600_000, 600_000, 2, 3);
+    }
+
+    @Test
+    void tick_ExpiresAtDueTimeInBatches() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any())).thenReturn(List.of(
+                view(10L, 1L, at(5)), view(11L, 2L, at(5)), view(12L, 3L, at(5))));
+        wheel.refill();
+
+        clock.advanceSeconds(4);
+        wheel.tick();
+        verifyNoInteractions(expiryService);
+
+        clock.advanceSeconds(1);
+        wheel.tick();
+        verify(expiryService).expireSubscriptions(eq(List.of(10L, 11L)), eq(List.of(1L, 2L)), any());
+        verify(expiryService).expireSubscriptions(eq(List.of(12L)), eq(List.of(3L)), any());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void onSubscriptionChanged_SchedulesInsideWindowAndCancels() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any())).thenReturn(List.of());
+        wheel.refill();
+
+        wheel.onSubscriptionChanged(new SubscriptionChangedEvent(20L, 1L, SubscriptionStatus.ACTIVE, at(10)));
+        wheel.onSubscriptionChanged(new SubscriptionChangedEvent(21L, 2L, SubscriptionStatus.ACTIVE, at(10)));
+        wheel.onSubscriptionChanged(new SubscriptionChangedEvent(22L, 3L, SubscriptionStatus.ACTIVE, at(7200)));
+        assertEquals(2, wheel.size());
+
+        wheel.onSubscriptionChanged(new SubscriptionChangedEvent(21L, 2L, SubscriptionStatus.CANCELLED, at(10)));
+        assertEquals(1, wheel.size());
+
+        clock.advanceSeconds(10);
+        wheel.tick();
+        verify(expiryService).expireSubscriptions(eq(List.of(20L)), eq(List.of(1L)), any());
+    }
+
+    @Test
+    void schedule_BoundedByMaxEntries() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any())).thenReturn(List.of());
+        wheel.refill();
+
+        for (long id = 1; id <= 5; id++) {
+            wheel.onSubscriptionChanged(new SubscriptionChangedEvent(id, id, SubscriptionStatus.ACTIVE, at(60)));
+        }
+
+        assertEquals(3, wheel.size());
+    }
+
+    @Test
+    void schedule_OverdueExpiryFiresOnNextTick() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any())).thenReturn(List.of());
+        wheel.refill();
+
+        wheel.onSubscriptionChanged(new SubscriptionChangedEvent(30L, 4L, SubscriptionStatus.ACTIVE, at(-30)));
+        clock.advanceSeconds(1);
+        wheel.tick();
+
+        verify(expiryService).expireSubscriptions(eq(List.of(30L)), eq(List.of(4L)), any());
+        verify(expiryService, never()).expireDueSubscriptions(any());
+        verify(expiryService, times(1)).expireSubscriptions(anyList(), anyList(), any());
+    }
+
+    @Test
+    void refill_FailedLoadRetriesTheSameWindow() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, wheel::refill);
+        wheel.refill();
+
+        verify(subscriptionRepository, times(2)).findUpcomingExpiries(eq(at(0)), eq(at(3600)), any());
+    }
+
+    @Test
+    void refill_TruncatedLoadResumesBeforeTheLastLoadedTick() {
+        when(subscriptionRepository.findUpcomingExpiries(any(), any(), any()))
+                .thenReturn(List.of(view(10L, 1L, at(5)), view(11L, 2L, at(6)), view(12L, 3L, at(7))))
+                .thenReturn(List.of());
+        wheel.refill();
+
+        clock.advanceSeconds(7);
+        wheel.tick();
+        assertEquals(0, wheel.size());
+
+        wheel.refill();
+        verify(subscriptionRepository).findUpcomingExpiries(eq(at(6)), eq(at(3607)), any());
+    }
+
+    private LocalDateTime at(long secondsFromStart) {
+        return LocalDateTime.ofInstant(START.plusSeconds(secondsFromStart), ZoneOffset.UTC);
+    }
+
+    private UserSubscriptionRepository.ExpiryView view(Long id, Long userId, LocalDateTime expiryDate) {
+        return new UserSubscriptionRepository.ExpiryView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDateTime getExpiryDate() {
+                return expiryDate;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.firstclub.membership.security;
+
+import com.firstclub.membership.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnPoolAndDelegate() {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(null), 1, 1,
+                                             Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry);
+
+        String encoded = encoder.encode("secret");
+
+        assertEquals("hashed:secret", encoded);
+        assertTrue(encoder.matches("secret", encoded));
+        assertFalse(encoder.matches("other", encoded));
+    }
+
+    @Test
+    void encode_QueueFull_RejectsImmediatelyWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(started), 1, 1,
+                                             Duration.ofSeconds(5), Duration.ofSeconds(2), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueued(1);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> encoder.encode("third"));
+
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("membership.auth.hashing.rejected").counter().count());
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WaitTimeoutExceeded_Rejects() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(started), 1, 4,
+                                             Duration.ofMillis(50), Duration.ofSeconds(1), meterRegistry);
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.matches("secret", "hashed:secret"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("membership.auth.hashing.queue").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "task was not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private class PrefixEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+
+        PrefixEncoder(CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            block();
+            return ("hashed:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void block() {
+            if (started == null) {
+                return;
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
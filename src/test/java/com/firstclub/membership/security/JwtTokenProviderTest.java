@@ -0,0 +1,60 @@
+package com.firstclub.membership.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "firstclub-membership-secret-key-minimum-256-bits-required-for-hs256-algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000L);
+        principal = new UserPrincipal(7L, "testuser", "test@example.com", null, "VIP",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void parseToken_ValidToken_ReturnsClaims() {
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Optional<JwtClaims> claims = tokenProvider.parseToken(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals(7L, claims.get().userId());
+        assertEquals("testuser", claims.get().username());
+        assertEquals(List.of("ROLE_USER"), claims.get().roles());
+        assertEquals("VIP", claims.get().cohort());
+        assertTrue(claims.get().expiresAt().after(claims.get().issuedAt()));
+    }
+
+    @Test
+    void parseToken_TamperedToken_ReturnsEmpty() {
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(tokenProvider.parseToken(tampered).isEmpty());
+        assertTrue(tokenProvider.parseToken("not-a-jwt").isEmpty());
+    }
+
+    @Test
+    void parseToken_ExpiredToken_ReturnsEmpty() {
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(SECRET, -1_000L);
+        String token = expiredProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        assertTrue(tokenProvider.parseToken(token).isEmpty());
+    }
+}
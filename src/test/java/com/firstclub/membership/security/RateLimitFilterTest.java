@@ -0,0 +1,100 @@
+package com.firstclub.membership.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_AuthRoute_ThrottlesPerClientIpWithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitRule("/api/auth/login", "POST", 2, Duration.ofMinutes(1), 0, 0));
+
+        assertEquals(200, post(filter, "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, post(filter, "/api/auth/login", "10.0.0.1").getStatus());
+        MockHttpServletResponse throttled = post(filter, "/api/auth/login", "10.0.0.1");
+
+        assertEquals(429, throttled.getStatus());
+        assertEquals("30", throttled.getHeader("Retry-After"));
+        assertTrue(throttled.getContentAsString().contains("Too many requests"));
+        assertEquals(200, post(filter, "/api/auth/login", "10.0.0.2").getStatus());
+        assertEquals(1.0, meterRegistry.get("membership.ratelimit.throttled")
+                .tag("route", "POST /api/auth/login").tag("scope", "client").counter().count());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(200, post(filter, "/api/auth/login", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void doFilter_AuthenticatedRoute_KeysOnUserIdNotAddress() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitRule("/api/subscriptions/order", "POST", 1, Duration.ofSeconds(1), 0, 0));
+
+        authenticate(1L);
+        assertEquals(200, post(filter, "/api/subscriptions/order", "10.0.0.1").getStatus());
+        assertEquals(429, post(filter, "/api/subscriptions/order", "10.0.0.2").getStatus());
+
+        authenticate(2L);
+        assertEquals(200, post(filter, "/api/subscriptions/order", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void doFilter_GlobalLimit_CapsAllClientsTogether() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitRule("/api/auth/**", null, 10, Duration.ofSeconds(1), 0, 2));
+
+        assertEquals(200, post(filter, "/api/auth/register", "10.0.0.1").getStatus());
+        assertEquals(200, post(filter, "/api/auth/register", "10.0.0.2").getStatus());
+        assertEquals(429, post(filter, "/api/auth/register", "10.0.0.3").getStatus());
+        assertEquals(1.0, meterRegistry.get("membership.ratelimit.throttled")
+                .tag("route", "/api/auth/**").tag("scope", "global").counter().count());
+    }
+
+    @Test
+    void doFilter_UnmatchedRoute_PassesThrough() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitRule("/api/auth/login", "POST", 1, Duration.ofMinutes(1), 0, 0));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, post(filter, "/api/plans", "10.0.0.1").getStatus());
+        }
+    }
+
+    private RateLimitFilter filter(RateLimitRule rule) {
+        return new RateLimitFilter(List.of(rule), 1000, Duration.ofMinutes(10), new ObjectMapper().findAndRegisterModules(),
+                                   meterRegistry, nanos::get);
+    }
+
+    private static MockHttpServletResponse post(RateLimitFilter filter, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId, null, null, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.firstclub.membership.security;
+
+import com.firstclub.membership.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void isRevoked_TokensIssuedBeforeUpdateOrForInactiveUsers() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 500_000_000);
+        when(userRepository.findRevocationCandidates(any(LocalDateTime.class))).thenReturn(List.of(
+                view(1L, true, updatedAt),
+                view(2L, false, updatedAt)
+        ));
+        TokenRevocationService revocationService = new TokenRevocationService(userRepository, 86_400_000L);
+        revocationService.refresh();
+
+        Date beforeUpdate = toDate(updatedAt.minusMinutes(5));
+        Date sameSecond = toDate(updatedAt.withNano(0));
+        Date afterUpdate = toDate(updatedAt.plusMinutes(5));
+
+        assertTrue(revocationService.isRevoked(claims(1L, beforeUpdate)));
+        assertFalse(revocationService.isRevoked(claims(1L, sameSecond)));
+        assertFalse(revocationService.isRevoked(claims(1L, afterUpdate)));
+        assertTrue(revocationService.isRevoked(claims(2L, afterUpdate)));
+        assertFalse(revocationService.isRevoked(claims(3L, beforeUpdate)));
+    }
+
+    private JwtClaims claims(Long userId, Date issuedAt) {
+        return new JwtClaims(userId, "user" + userId, List.of("ROLE_USER"), null, issuedAt, null);
+    }
+
+    private Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private UserRepository.RevocationView view(Long id, boolean active, LocalDateTime updatedAt) {
+        return new UserRepository.RevocationView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Boolean getActive() {
+                return active;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
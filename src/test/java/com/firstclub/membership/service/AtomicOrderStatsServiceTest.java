@@ -0,0 +1,135 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import com.firstclub.membership.repository.MembershipPlanRepository;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import com.firstclub.membership.repository.TierBenefitRepository;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class AtomicOrderStatsServiceTest {
+
+    @Autowired
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipPlanRepository planRepository;
+
+    @Autowired
+    private MembershipTierRepository tierRepository;
+
+    @Autowired
+    private TierBenefitRepository benefitRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AtomicOrderStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        MembershipCatalog catalog = new MembershipCatalog(planRepository, tierRepository, benefitRepository,
+                transactionManager, 600_000L);
+        TierEligibilityEngine eligibilityEngine = new TierEligibilityEngine(tierRepository);
+        service = new AtomicOrderStatsService(subscriptionRepository,
+                new MembershipPlanService(catalog),
+                new MembershipTierService(catalog, eligibilityEngine, meterRegistry),
+                new UserCohortCache(userRepository, 100, Duration.ofHours(1)),
+                new CurrentSubscriptionCache(new ConcurrentMapCacheManager(AppConstants.CACHE_USER_SUBSCRIPTIONS),
+                        Duration.ofMinutes(10), Duration.ofSeconds(30)),
+                new SubscriptionMetrics(meterRegistry));
+    }
+
+    @Test
+    void updateOrderStats_IncrementsInPlaceAndUpgradesForCohort() {
+        Long id = create(2L, 1L, 9, new BigDecimal("1499.00"));
+
+        SubscriptionResponse response = service.updateOrderStats(2L, order("1.00"));
+
+        assertEquals(10, response.getOrderCount());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(response.getTotalOrderValue()));
+        assertEquals("Diamond", response.getTier().getName());
+
+        entityManager.clear();
+        UserSubscription stored = subscriptionRepository.findById(id).orElseThrow();
+        assertEquals(10, stored.getOrderCount());
+        assertEquals(4L, stored.getTier().getId());
+        assertEquals(2L, stored.getVersion());
+        // Counted on commit; the test transaction is rolled back
+        assertEquals(0.0, meterRegistry.get(SubscriptionMetrics.TIER_UPGRADES)
+                .tag("from", "Silver").tag("to", "Diamond").tag("trigger", "order").counter().count());
+    }
+
+    @Test
+    void updateOrderStats_NeverDowngradesTier() {
+        Long id = create(1L, 3L, 0, BigDecimal.ZERO);
+
+        SubscriptionResponse response = service.updateOrderStats(1L, order("10.00"));
+
+        assertEquals("Platinum", response.getTier().getName());
+        MembershipTier gold = tierRepository.findById(2L).orElseThrow();
+        assertEquals(0, subscriptionRepository.upgradeTierIfLower(id, gold, gold.getTierLevel(), LocalDateTime.now()));
+        entityManager.clear();
+        assertEquals(3L, subscriptionRepository.findById(id).orElseThrow().getTier().getId());
+    }
+
+    @Test
+    void updateOrderStats_NoActiveSubscription_ThrowsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> service.updateOrderStats(3L, order("10.00")));
+    }
+
+    private Long create(Long userId, Long tierId, int orderCount, BigDecimal orderValue) {
+        UserSubscription subscription = subscriptionRepository.save(UserSubscription.builder()
+                .user(entityManager.getReference(User.class, userId))
+                .plan(entityManager.getReference(MembershipPlan.class, 1L))
+                .tier(entityManager.getReference(MembershipTier.class, tierId))
+                .status(SubscriptionStatus.ACTIVE)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .expiryDate(LocalDateTime.now().plusMonths(1))
+                .paidAmount(new BigDecimal("9.99"))
+                .orderCount(orderCount)
+                .totalOrderValue(orderValue)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return subscription.getId();
+    }
+
+    private OrderUpdateRequest order(String value) {
+        OrderUpdateRequest request = new OrderUpdateRequest();
+        request.setOrderValue(new BigDecimal(value));
+        return request;
+    }
+}
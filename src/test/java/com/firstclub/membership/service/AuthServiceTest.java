@@ -0,0 +1,127 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.dto.request.LoginRequest;
+import com.firstclub.membership.dto.request.RegisterRequest;
+import com.firstclub.membership.dto.response.AuthResponse;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.TooManyRequestsException;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.security.JwtTokenProvider;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private UserIdentityIndex identityIndex;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private RegisterRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = RegisterRequest.builder()
+                .username("newuser")
+                .email("new@example.com")
+                .password("secret123")
+                .fullName("New User")
+                .build();
+    }
+
+    @Test
+    void register_NamesDefinitelyNew_SkipsExistenceQueriesAndHashesOnce() {
+        when(identityIndex.mightContainUsername("newuser")).thenReturn(false);
+        when(identityIndex.mightContainEmail("new@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("secret123")).thenReturn("hashed");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(10L);
+            return user;
+        });
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("token");
+
+        AuthResponse response = authService.register(request);
+
+        assertEquals(10L, response.getUserId());
+        assertEquals("token", response.getToken());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verifyNoInteractions(authenticationManager);
+        verify(identityIndex).add("newuser", "new@example.com");
+    }
+
+    @Test
+    void register_UsernamePossiblyPresent_QueriesOnlyThatKey() {
+        when(identityIndex.mightContainUsername("newuser")).thenReturn(true);
+        when(userRepository.existsByUsername("newuser")).thenReturn(true);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> authService.register(request));
+
+        assertEquals(AppConstants.ERROR_MESSAGE_USERNAME_EXISTS, ex.getMessage());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void register_UniqueViolationOnInsert_MapsToSameBusinessMessage() {
+        when(identityIndex.mightContainUsername("newuser")).thenReturn(false);
+        when(identityIndex.mightContainEmail("new@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("secret123")).thenReturn("hashed");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                                                 "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL) VALUES ( /* 2 */ 'username@example.com' )")));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> authService.register(request));
+
+        assertEquals(AppConstants.ERROR_MESSAGE_EMAIL_EXISTS, ex.getMessage());
+        verify(identityIndex, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    void login_HashingPoolSaturatedForUnknownUser_SurfacesTooManyRequests() {
+        TooManyRequestsException saturated = new TooManyRequestsException("Too many authentication requests", 1);
+        when(authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new InternalAuthenticationServiceException(saturated.getMessage(), saturated));
+        LoginRequest login = LoginRequest.builder().username("nobody").password("secret123").build();
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> authService.login(login));
+
+        assertSame(saturated, ex);
+        verifyNoInteractions(tokenProvider);
+    }
+}
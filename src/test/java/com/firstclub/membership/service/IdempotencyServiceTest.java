@@ -0,0 +1,212 @@
+package com.firstclub.membership.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.firstclub.membership.cache.CaffeineIdempotencyStore;
+import com.firstclub.membership.cache.IdempotencyStore;
+import com.firstclub.membership.cache.IdempotentResponse;
+import com.firstclub.membership.dto.request.OrderUpdateRequest;
+import com.firstclub.membership.dto.response.ApiResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        idempotencyService = new IdempotencyService(new CaffeineIdempotencyStore(100, Duration.ofMinutes(1)),
+                                                    objectMapper, meterRegistry, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void execute_SameKey_ReplaysStoredResponseWithoutRunningAction() {
+        ResponseEntity<ApiResponse<SubscriptionResponse>> first = order(1L, "key-1", order(100));
+        ResponseEntity<ApiResponse<SubscriptionResponse>> retry = order(1L, "key-1", order(100));
+
+        assertEquals(1, executions.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getStatusCode(), retry.getStatusCode());
+        assertEquals(first.getBody().getData(), retry.getBody().getData());
+        assertEquals(1.0, meterRegistry.get("membership.idempotency.requests").tag("outcome", "replayed").counter().count());
+    }
+
+    @Test
+    void execute_KeysAreScopedPerUserAndMissingKeyAlwaysExecutes() {
+        order(1L, "key-1", order(100));
+        order(2L, "key-1", order(100));
+        order(1L, null, order(100));
+        order(1L, null, order(100));
+
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_Rejected() {
+        order(1L, "key-1", order(100));
+
+        assertThrows(BusinessException.class, () -> order(1L, "key-1", order(250)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_FailureIsNotStored() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(1L, "order", "key-1",
+                order(100), SubscriptionResponse.class, () -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        order(1L, "key-1", order(100));
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_CoalescedIntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<ApiResponse<SubscriptionResponse>>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(1L, "order", "key-1", order(100), SubscriptionResponse.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return respond(100);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<ApiResponse<SubscriptionResponse>>> duplicate =
+                CompletableFuture.supplyAsync(() -> order(1L, "key-1", order(100)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("membership.idempotency.requests").tag("outcome", "coalesced").counter().count() < 1) {
+            assertTrue(System.nanoTime() < deadline, "duplicate did not wait for the first request");
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals(new BigDecimal("100"), first.get(5, TimeUnit.SECONDS).getBody().getData().getTotalOrderValue());
+        assertEquals(new BigDecimal("100"), duplicate.get(5, TimeUnit.SECONDS).getBody().getData().getTotalOrderValue());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_ClaimReleasedElsewhereWithoutResponse_ExecutesInsteadOfTimingOut() throws Exception {
+        RemotelyClaimedStore store = new RemotelyClaimedStore();
+        idempotencyService = new IdempotencyService(store, new ObjectMapper().findAndRegisterModules(),
+                                                    meterRegistry, Duration.ofSeconds(5));
+
+        CompletableFuture<ResponseEntity<ApiResponse<SubscriptionResponse>>> waiter =
+                CompletableFuture.supplyAsync(() -> order(1L, "key-1", order(100)));
+        store.awaitPolled();
+        store.held = false;
+
+        assertNull(waiter.get(2, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ClaimReleasedElsewhereWithResponse_Replays() throws Exception {
+        RemotelyClaimedStore store = new RemotelyClaimedStore();
+        idempotencyService = new IdempotencyService(store, new ObjectMapper().findAndRegisterModules(),
+                                                    meterRegistry, Duration.ofSeconds(5));
+        IdempotencyService holder = new IdempotencyService(store.shared, new ObjectMapper().findAndRegisterModules(),
+                                                           new SimpleMeterRegistry(), Duration.ofSeconds(5));
+
+        CompletableFuture<ResponseEntity<ApiResponse<SubscriptionResponse>>> waiter =
+                CompletableFuture.supplyAsync(() -> order(1L, "key-1", order(100)));
+        store.awaitPolled();
+        holder.execute(1L, "order", "key-1", order(100), SubscriptionResponse.class, () -> respond(100));
+        store.held = false;
+
+        assertEquals("true", waiter.get(2, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(0, executions.get());
+    }
+
+    private ResponseEntity<ApiResponse<SubscriptionResponse>> order(Long userId, String key, OrderUpdateRequest request) {
+        return idempotencyService.execute(userId, "order", key, request, SubscriptionResponse.class, () -> {
+            executions.incrementAndGet();
+            return respond(request.getOrderValue().intValue());
+        });
+    }
+
+    private static ResponseEntity<ApiResponse<SubscriptionResponse>> respond(int totalOrderValue) {
+        SubscriptionResponse response = SubscriptionResponse.builder()
+                .id(7L)
+                .userId(1L)
+                .orderCount(1)
+                .totalOrderValue(new BigDecimal(totalOrderValue))
+                .build();
+        return ResponseEntity.ok(ApiResponse.success("Order statistics updated successfully", response));
+    }
+
+    private static OrderUpdateRequest order(int value) {
+        return OrderUpdateRequest.builder().orderValue(new BigDecimal(value)).build();
+    }
+
+    /**
+     * Simulates another instance holding the claim on a shared store until {@code held} is cleared.
+     */
+    private static class RemotelyClaimedStore implements IdempotencyStore {
+
+        private final IdempotencyStore shared = new CaffeineIdempotencyStore(100, Duration.ofMinutes(1));
+        private final CountDownLatch polled = new CountDownLatch(1);
+        private volatile boolean held = true;
+
+        @Override
+        public Optional<IdempotentResponse> get(String key) {
+            return shared.get(key);
+        }
+
+        @Override
+        public void put(String key, IdempotentResponse response) {
+            shared.put(key, response);
+        }
+
+        @Override
+        public String tryLock(String key) {
+            return held ? null : shared.tryLock(key);
+        }
+
+        @Override
+        public void unlock(String key, String token) {
+            shared.unlock(key, token);
+        }
+
+        @Override
+        public boolean isLocked(String key) {
+            polled.countDown();
+            return held;
+        }
+
+        void awaitPolled() throws InterruptedException {
+            assertTrue(polled.await(5, TimeUnit.SECONDS), "duplicate did not wait for the claim");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.TierBenefit;
+import com.firstclub.membership.domain.enums.BenefitType;
+import com.firstclub.membership.domain.enums.PlanDuration;
+import com.firstclub.membership.repository.MembershipPlanRepository;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import com.firstclub.membership.repository.TierBenefitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipCatalogTest {
+
+    @Mock
+    private MembershipPlanRepository planRepository;
+
+    @Mock
+    private MembershipTierRepository tierRepository;
+
+    @Mock
+    private TierBenefitRepository benefitRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MembershipCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new MembershipCatalog(planRepository, tierRepository, benefitRepository, transactionManager, 600_000);
+
+        MembershipTier silver = MembershipTier.builder()
+                .id(1L).name("Silver").tierLevel(1).minOrderCount(0).minOrderValue(BigDecimal.ZERO).active(true).build();
+        MembershipTier gold = MembershipTier.builder()
+                .id(2L).name("Gold").tierLevel(2).minOrderCount(5).minOrderValue(new BigDecimal("500")).active(true).build();
+
+        lenient().when(planRepository.findByActiveTrue()).thenReturn(List.of(MembershipPlan.builder()
+                .id(1L).name("Monthly Basic").duration(PlanDuration.MONTHLY).price(new BigDecimal("9.99")).active(true)
+                .build()));
+        lenient().when(tierRepository.findByActiveTrueOrderByTierLevelAsc()).thenReturn(List.of(silver, gold));
+        lenient().when(benefitRepository.findByTierIdInAndActiveTrue(anyList())).thenReturn(List.of(TierBenefit.builder()
+                .id(7L).tierId(2L).benefitType(BenefitType.FREE_DELIVERY).description("Free delivery").build()));
+    }
+
+    @Test
+    void reads_ServedFromSnapshotWithoutQueries() {
+        catalog.refresh();
+        clearInvocations(planRepository, tierRepository, benefitRepository);
+
+        assertEquals("Monthly Basic", catalog.findPlan(1L).orElseThrow().getName());
+        assertEquals(1, catalog.findTier(2L).orElseThrow().getBenefits().size());
+        assertTrue(catalog.findTier(1L).orElseThrow().getBenefits().isEmpty());
+        assertTrue(catalog.findTier(99L).isEmpty());
+        assertEquals(2, catalog.getTiers().size());
+
+        verifyNoInteractions(planRepository, tierRepository, benefitRepository);
+    }
+
+    @Test
+    void refresh_KeepsVersionWhenContentUnchanged() {
+        catalog.refresh();
+        long version = catalog.getVersion();
+
+        catalog.refresh();
+        assertEquals(version, catalog.getVersion());
+
+        when(planRepository.findByActiveTrue()).thenReturn(List.of());
+        catalog.refresh();
+        assertEquals(version + 1, catalog.getVersion());
+        assertTrue(catalog.getPlans().isEmpty());
+    }
+
+    @Test
+    void getContentHash_StableForSameContentAcrossInstances() {
+        catalog.refresh();
+        String hash = catalog.getContentHash();
+
+        MembershipCatalog other = new MembershipCatalog(planRepository, tierRepository, benefitRepository,
+                transactionManager, 600_000);
+        assertEquals(hash, other.getContentHash());
+
+        when(planRepository.findByActiveTrue()).thenReturn(List.of());
+        catalog.refresh();
+        assertNotEquals(hash, catalog.getContentHash());
+    }
+
+    @Test
+    void reads_LoadLazilyBeforeFirstRefresh() {
+        assertEquals(1, catalog.getPlans().size());
+        assertEquals(2, catalog.getTiers().size());
+
+        verify(planRepository, times(1)).findByActiveTrue();
+    }
+}
@@ -0,0 +1,155 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.dto.request.BatchOrderUpdateRequest;
+import com.firstclub.membership.dto.request.OrderRecord;
+import com.firstclub.membership.dto.response.BatchOrderUpdateResponse;
+import com.firstclub.membership.dto.response.MembershipTierResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.repository.UserRepository;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchServiceTest {
+
+    @Mock
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MembershipPlanService planService;
+
+    @Mock
+    private MembershipTierService tierService;
+
+    @Mock
+    private CurrentSubscriptionCache currentSubscriptionCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderBatchService orderBatchService;
+
+    private MembershipTier silver;
+    private MembershipTier gold;
+    private UserSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchService = new OrderBatchService(subscriptionRepository, userRepository, planService, tierService,
+                currentSubscriptionCache, transactionManager, 100, 50);
+
+        silver = MembershipTier.builder().id(1L).name("Silver").tierLevel(1).build();
+        gold = MembershipTier.builder().id(2L).name("Gold").tierLevel(2).build();
+
+        subscription = UserSubscription.builder()
+                .id(10L)
+                .user(User.builder().id(1L).build())
+                .plan(MembershipPlan.builder().id(1L).build())
+                .tier(silver)
+                .status(SubscriptionStatus.ACTIVE)
+                .expiryDate(LocalDateTime.now().plusMonths(1))
+                .orderCount(3)
+                .totalOrderValue(new BigDecimal("300.00"))
+                .build();
+    }
+
+    @Test
+    void updateOrderStatsBatch_GroupsRecordsPerUser() {
+        when(subscriptionRepository.findActiveSubscriptionsWithLock(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(subscription));
+        when(userRepository.findCohortsByIdIn(anyCollection())).thenReturn(List.of());
+        when(tierService.findEligibleTier(5, new BigDecimal("550.00"), null)).thenReturn(gold);
+        when(tierService.getTierById(2L)).thenReturn(MembershipTierResponse.builder().id(2L).name("Gold").build());
+
+        BatchOrderUpdateResponse response = orderBatchService.updateOrderStatsBatch(request(
+                new OrderRecord(1L, new BigDecimal("100.00")),
+                new OrderRecord(2L, new BigDecimal("10.00")),
+                new OrderRecord(1L, new BigDecimal("150.00")),
+                new OrderRecord(1L, new BigDecimal("-1"))
+        ));
+
+        verify(subscriptionRepository, times(1)).findActiveSubscriptionsWithLock(anyCollection(), any());
+        verify(tierService, times(1)).findEligibleTier(any(), any(), any());
+        assertEquals(5, subscription.getOrderCount());
+        assertEquals(new BigDecimal("550.00"), subscription.getTotalOrderValue());
+        assertEquals(gold, subscription.getTier());
+
+        assertEquals(4, response.getTotalRecords());
+        assertEquals(2, response.getAppliedRecords());
+        assertEquals(2, response.getFailedRecords());
+        assertEquals(1, response.getUsersUpdated());
+        assertTrue(response.getResults().get(0).isTierUpgraded());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertTrue(response.getResults().get(2).isSuccess());
+        assertEquals("Order value must be positive", response.getResults().get(3).getMessage());
+
+        // The cache is overwritten with the committed state rather than evicted for a stale reader to refill
+        ArgumentCaptor<SubscriptionResponse> cached = ArgumentCaptor.forClass(SubscriptionResponse.class);
+        verify(currentSubscriptionCache).refreshAfterCommit(eq(1L), cached.capture());
+        assertEquals(5, cached.getValue().getOrderCount());
+        assertEquals(new BigDecimal("550.00"), cached.getValue().getTotalOrderValue());
+        assertEquals("Gold", cached.getValue().getTier().getName());
+        verifyNoMoreInteractions(currentSubscriptionCache);
+    }
+
+    @Test
+    void updateOrderStatsBatch_ChunkFailure_ReportsFixedMessage() {
+        when(subscriptionRepository.findActiveSubscriptionsWithLock(anyCollection(), any(LocalDateTime.class)))
+                .thenThrow(new PessimisticLockingFailureException("lock timeout on user_subscriptions row 10"))
+                .thenThrow(new IllegalStateException("connection reset by jdbc:postgresql://db:5432"));
+
+        BatchOrderUpdateResponse response = orderBatchService.updateOrderStatsBatch(request(
+                new OrderRecord(1L, new BigDecimal("100.00"))
+        ));
+        BatchOrderUpdateResponse failed = orderBatchService.updateOrderStatsBatch(request(
+                new OrderRecord(1L, new BigDecimal("100.00"))
+        ));
+
+        assertEquals(AppConstants.ERROR_MESSAGE_ORDER_CONFLICT, response.getResults().get(0).getMessage());
+        assertEquals(AppConstants.ERROR_MESSAGE_ORDER_FAILED, failed.getResults().get(0).getMessage());
+        verifyNoInteractions(currentSubscriptionCache);
+    }
+
+    @Test
+    void updateOrderStatsBatch_TooManyRecords_ThrowsException() {
+        OrderRecord[] records = new OrderRecord[101];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new OrderRecord(1L, BigDecimal.ONE);
+        }
+
+        assertThrows(BusinessException.class, () -> orderBatchService.updateOrderStatsBatch(request(records)));
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    private BatchOrderUpdateRequest request(OrderRecord... records) {
+        return BatchOrderUpdateRequest.builder().orders(List.of(records)).build();
+    }
+}
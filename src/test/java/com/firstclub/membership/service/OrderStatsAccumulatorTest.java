@@ -0,0 +1,141 @@
+package com.firstclub.membership.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsAccumulatorTest {
+
+    @Mock
+    private OrderBatchService orderBatchService;
+
+    @Captor
+    private ArgumentCaptor<List<OrderDelta>> captor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderStatsAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator = new OrderStatsAccumulator(orderBatchService, meterRegistry, 1000, 2, 3);
+    }
+
+    @Test
+    void flush_AppliesSummedDeltaPerUser() {
+        assertTrue(accumulator.record(1L, new BigDecimal("100.00")));
+        assertTrue(accumulator.record(1L, new BigDecimal("0.50")));
+        assertTrue(accumulator.record(2L, new BigDecimal("20")));
+
+        accumulator.flush();
+
+        verify(orderBatchService).applyDeltas(captor.capture(), any());
+        OrderDelta delta = captor.getValue().stream()
+                .filter(d -> d.getUserId().equals(1L))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, delta.getOrderCount());
+        assertEquals(new BigDecimal("100.50"), delta.getOrderValue());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    void flush_RetiresIdleUsers() {
+        accumulator.record(1L, new BigDecimal("10.00"));
+
+        accumulator.flush();
+        assertEquals(1, accumulator.pendingUsers());
+
+        accumulator.flush();
+        assertEquals(0, accumulator.pendingUsers());
+        verify(orderBatchService, times(1)).applyDeltas(anyList(), any());
+    }
+
+    @Test
+    void flush_FailedChunkIsRequeued() {
+        failEveryFlush();
+
+        accumulator.record(1L, new BigDecimal("10.00"));
+        accumulator.record(1L, new BigDecimal("5.00"));
+        accumulator.flush();
+
+        reset(orderBatchService);
+        accumulator.flush();
+
+        verify(orderBatchService).applyDeltas(captor.capture(), any());
+        assertEquals(2, captor.getValue().get(0).getOrderCount());
+        assertEquals(new BigDecimal("15.00"), captor.getValue().get(0).getOrderValue());
+    }
+
+    @Test
+    void flush_AbandonsDeltaAfterMaxFlushAttempts() {
+        failEveryFlush();
+        accumulator.record(1L, new BigDecimal("10.00"));
+
+        accumulator.flush();
+        accumulator.flush();
+        accumulator.flush();
+
+        verify(orderBatchService, times(3)).applyDeltas(anyList(), any());
+        assertEquals(1.0, meterRegistry.counter("membership.orders.write_behind.abandoned").count());
+
+        accumulator.flush();
+        verifyNoMoreInteractions(orderBatchService);
+    }
+
+    @Test
+    void flush_AbandonsRequeueThatWouldOverflowTheCell() {
+        doAnswer(invocation -> {
+            List<OrderDelta> deltas = invocation.getArgument(0);
+            OrderBatchService.DeltaOutcomeListener listener = invocation.getArgument(1);
+            // Orders recorded while the flush ran leave no room to merge the failed delta back
+            assertTrue(accumulator.record(1L, (1L << 44) - 1 - 500));
+            deltas.forEach(d -> listener.onFailed(d, new IllegalStateException("db down")));
+            return 0;
+        }).when(orderBatchService).applyDeltas(anyList(), any());
+
+        accumulator.record(1L, new BigDecimal("10.00"));
+        accumulator.flush();
+
+        assertEquals(1.0, meterRegistry.counter("membership.orders.write_behind.abandoned").count());
+
+        reset(orderBatchService);
+        accumulator.flush();
+        verify(orderBatchService).applyDeltas(captor.capture(), any());
+        assertEquals(1, captor.getValue().get(0).getOrderCount());
+        assertEquals(BigDecimal.valueOf((1L << 44) - 1 - 500, 2), captor.getValue().get(0).getOrderValue());
+    }
+
+    @Test
+    void record_RejectsWhenFullOrFractionalCents() {
+        assertTrue(accumulator.record(1L, new BigDecimal("1.00")));
+        assertTrue(accumulator.record(2L, new BigDecimal("1.00")));
+
+        assertFalse(accumulator.record(3L, new BigDecimal("1.00")));
+        assertFalse(accumulator.record(1L, new BigDecimal("1.005")));
+        assertTrue(accumulator.record(1L, new BigDecimal("1.00")));
+    }
+
+    private void failEveryFlush() {
+        doAnswer(invocation -> {
+            List<OrderDelta> deltas = invocation.getArgument(0);
+            OrderBatchService.DeltaOutcomeListener listener = invocation.getArgument(1);
+            deltas.forEach(d -> listener.onFailed(d, new IllegalStateException("db down")));
+            return 0;
+        }).when(orderBatchService).applyDeltas(anyList(), any());
+    }
+}
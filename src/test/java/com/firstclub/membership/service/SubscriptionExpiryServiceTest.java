@@ -0,0 +1,105 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.constants.AppConstants;
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SubscriptionExpiryServiceTest {
+
+    @Autowired
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(AppConstants.CACHE_USER_SUBSCRIPTIONS);
+        meterRegistry = new SimpleMeterRegistry();
+        expiryService = new SubscriptionExpiryService(subscriptionRepository, cacheManager,
+                transactionManager, meterRegistry, 1, 100);
+    }
+
+    @Test
+    void expireDueSubscriptions_UpdatesOnlyDueActiveRowsInKeysetChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        Long due1 = create(1L, SubscriptionStatus.ACTIVE, now.minusDays(1));
+        Long notDue = create(2L, SubscriptionStatus.ACTIVE, now.plusDays(1));
+        Long cancelled = create(2L, SubscriptionStatus.CANCELLED, now.minusDays(1));
+        for (int i = 0; i < 5; i++) {
+            create(3L, SubscriptionStatus.EXPIRED, now.minusYears(1));
+        }
+        Long due2 = create(3L, SubscriptionStatus.ACTIVE, now.minusMinutes(1));
+
+        Cache cache = cacheManager.getCache(AppConstants.CACHE_USER_SUBSCRIPTIONS);
+        cache.put(1L, "cached");
+        cache.put(2L, "cached");
+        cache.put(3L, "cached");
+
+        int expired = expiryService.expireDueSubscriptions(now);
+
+        assertEquals(2, expired);
+        assertEquals(SubscriptionStatus.EXPIRED, subscriptionRepository.findById(due1).orElseThrow().getStatus());
+        assertEquals(SubscriptionStatus.EXPIRED, subscriptionRepository.findById(due2).orElseThrow().getStatus());
+        assertEquals(1L, subscriptionRepository.findById(due1).orElseThrow().getVersion());
+        assertEquals(SubscriptionStatus.ACTIVE, subscriptionRepository.findById(notDue).orElseThrow().getStatus());
+        assertEquals(SubscriptionStatus.CANCELLED, subscriptionRepository.findById(cancelled).orElseThrow().getStatus());
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertEquals(2.0, meterRegistry.get("membership.subscriptions.expired").counter().count());
+        // One chunk per due row; the expired rows between them cost no chunk of their own
+        assertEquals(2, meterRegistry.get("membership.subscriptions.expiry.chunk").tag("source", "sweep").timer().count());
+        assertEquals(2.0, meterRegistry.get("membership.subscriptions.expiry.batch.size").tag("source", "sweep")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void expireDueSubscriptions_NothingDue_RunsNoChunks() {
+        create(1L, SubscriptionStatus.ACTIVE, LocalDateTime.now().plusDays(1));
+
+        assertEquals(0, expiryService.expireDueSubscriptions(LocalDateTime.now()));
+        assertEquals(0, meterRegistry.get("membership.subscriptions.expiry.chunk").tag("source", "sweep").timer().count());
+    }
+
+    private Long create(Long userId, SubscriptionStatus status, LocalDateTime expiryDate) {
+        UserSubscription subscription = subscriptionRepository.save(UserSubscription.builder()
+                .user(entityManager.getReference(User.class, userId))
+                .plan(entityManager.getReference(MembershipPlan.class, 1L))
+                .tier(entityManager.getReference(MembershipTier.class, 1L))
+                .status(status)
+                .startDate(expiryDate.minusMonths(1))
+                .expiryDate(expiryDate)
+                .paidAmount(new BigDecimal("9.99"))
+                .build());
+        entityManager.flush();
+        return subscription.getId();
+    }
+}
@@ -0,0 +1,135 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.MembershipPlan;
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.domain.entity.User;
+import com.firstclub.membership.domain.entity.UserSubscription;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.dto.response.SubscriptionHistoryResponse;
+import com.firstclub.membership.dto.response.SubscriptionResponse;
+import com.firstclub.membership.repository.UserSubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SubscriptionHistoryServiceTest {
+
+    @Autowired
+    private UserSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SubscriptionHistoryService historyService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        historyService = new SubscriptionHistoryService(subscriptionRepository, mock(MembershipCatalog.class), 20, 50);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getSubscriptionHistory_StatementCountIndependentOfHistoryLength() {
+        createHistory(1L, 2);
+        createHistory(2L, 40);
+
+        assertEquals(1, statementsFor(1L, 50));
+        assertEquals(1, statementsFor(2L, 50));
+    }
+
+    @Test
+    void getSubscriptionHistory_PagesByCursorWithoutGapsOrDuplicates() {
+        createHistory(1L, 45);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SubscriptionHistoryResponse page = historyService.getSubscriptionHistoryPage(1L, cursor, 20);
+            for (SubscriptionResponse subscription : page.getSubscriptions()) {
+                assertTrue(seen.add(subscription.getId()));
+                assertEquals("Monthly Basic", subscription.getPlan().getName());
+                assertEquals("Silver", subscription.getTier().getName());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(45, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getSubscriptionHistory_CapsPageSize() {
+        createHistory(1L, 60);
+
+        SubscriptionHistoryResponse page = historyService.getSubscriptionHistoryPage(1L, null, 1000);
+
+        assertEquals(50, page.getSubscriptions().size());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void getSubscriptionHistory_ReturnsWholeHistoryNewestFirstInOneStatement() {
+        createHistory(1L, 60);
+        entityManager.clear();
+        statistics.clear();
+
+        List<SubscriptionResponse> history = historyService.getSubscriptionHistory(1L);
+
+        assertEquals(60, history.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        for (int i = 1; i < history.size(); i++) {
+            assertTrue(history.get(i - 1).getId() > history.get(i).getId());
+        }
+    }
+
+    private long statementsFor(Long userId, int size) {
+        entityManager.clear();
+        statistics.clear();
+        historyService.getSubscriptionHistoryPage(userId, null, size);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createHistory(Long userId, int count) {
+        User user = entityManager.getReference(User.class, userId);
+        MembershipPlan plan = entityManager.getReference(MembershipPlan.class, 1L);
+        MembershipTier tier = entityManager.getReference(MembershipTier.class, 1L);
+        LocalDateTime start = LocalDateTime.now().minusYears(5);
+
+        List<UserSubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            subscriptions.add(UserSubscription.builder()
+                    .user(user)
+                    .plan(plan)
+                    .tier(tier)
+                    .status(SubscriptionStatus.EXPIRED)
+                    .startDate(start.plusMonths(i))
+                    .expiryDate(start.plusMonths(i + 1))
+                    .paidAmount(new BigDecimal("9.99"))
+                    .build());
+        }
+        subscriptionRepository.saveAll(subscriptions);
+        entityManager.flush();
+    }
+}
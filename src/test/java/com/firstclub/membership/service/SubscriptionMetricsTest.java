@@ -0,0 +1,100 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new SubscriptionMetrics(meterRegistry);
+    }
+
+    @Test
+    void classify_UsesSqlStateOfNestedCause() {
+        assertEquals(SubscriptionMetrics.OUTCOME_SERIALIZATION_FAILURE, SubscriptionMetrics.classify(
+                new CannotAcquireLockException("commit", new SQLException("could not serialize access", "40001"))));
+        assertEquals(SubscriptionMetrics.OUTCOME_SERIALIZATION_FAILURE, SubscriptionMetrics.classify(
+                new JpaSystemException(new RuntimeException(new SQLException("concurrent update", "90131")))));
+        assertEquals(SubscriptionMetrics.OUTCOME_LOCK_TIMEOUT, SubscriptionMetrics.classify(
+                new CannotAcquireLockException("lock", new SQLException("lock not available", "55P03"))));
+        assertEquals(SubscriptionMetrics.OUTCOME_LOCK_TIMEOUT, SubscriptionMetrics.classify(
+                new PessimisticLockingFailureException("lock")));
+        assertEquals(SubscriptionMetrics.OUTCOME_NOT_FOUND, SubscriptionMetrics.classify(
+                new ResourceNotFoundException("No active subscription found for user")));
+        assertEquals(SubscriptionMetrics.OUTCOME_REJECTED, SubscriptionMetrics.classify(
+                new BusinessException("User is already on this tier")));
+        assertEquals(SubscriptionMetrics.OUTCOME_ERROR, SubscriptionMetrics.classify(new IllegalStateException()));
+    }
+
+    @Test
+    void recordOperation_TagsOutcomeAndCountsSerializationFailures() {
+        metrics.recordOperation("subscribe", 1_000_000L, null);
+        metrics.recordOperation("subscribe", 2_000_000L,
+                new CannotAcquireLockException("commit", new SQLException("could not serialize access", "40001")));
+
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.OPERATION_TIMER)
+                .tag("operation", "subscribe").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.OPERATION_TIMER)
+                .tag("operation", "subscribe").tag("outcome", "serialization_failure").timer().count());
+        assertEquals(1.0, meterRegistry.get(SubscriptionMetrics.SERIALIZATION_FAILURES)
+                .tag("operation", "subscribe").counter().count());
+    }
+
+    @Test
+    void timeLockWait_RecordsEvenWhenQueryFails() {
+        assertEquals(Optional.of(1L), metrics.timeLockWait(SubscriptionMetrics.USER_LOCK, () -> Optional.of(1L)));
+        assertThrows(PessimisticLockingFailureException.class, () -> metrics.timeLockWait(
+                SubscriptionMetrics.SUBSCRIPTION_LOCK, () -> {
+                    throw new PessimisticLockingFailureException("timeout");
+                }));
+
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.LOCK_WAIT_TIMER).tag("lock", "user").timer().count());
+        assertEquals(1, meterRegistry.get(SubscriptionMetrics.LOCK_WAIT_TIMER).tag("lock", "subscription").timer().count());
+    }
+
+    @Test
+    void recordTierUpgrade_CountsOnlyCommittedUpgrades() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            metrics.recordTierUpgrade("Silver", "Gold", "order");
+            assertEquals(0.0, tierUpgrades());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0.0, tierUpgrades());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            metrics.recordTierUpgrade("Silver", "Gold", "order");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1.0, tierUpgrades());
+    }
+
+    private double tierUpgrades() {
+        return meterRegistry.get(SubscriptionMetrics.TIER_UPGRADES)
+                .tag("from", "Silver").tag("to", "Gold").tag("trigger", "order").counter().count();
+    }
+}
@@ -1,5 +1,6 @@
 package com.firstclub.membership.service;
 
+import com.firstclub.membership.cache.CurrentSubscriptionCache;
 import com.firstclub.membership.domain.entity.*;
 import com.firstclub.membership.domain.enums.PlanDuration;
 import com.firstclub.membership.domain.enums.SubscriptionStatus;
@@ -9,12 +10,16 @@ import com.firstclub.membership.dto.response.SubscriptionResponse;
 import com.firstclub.membership.exception.BusinessException;
 import com.firstclub.membership.exception.ResourceNotFoundException;
 import com.firstclub.membership.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -45,6 +50,18 @@ class SubscriptionServiceTest {
     @Mock
     private MembershipTierService tierService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CurrentSubscriptionCache currentSubscriptionCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SubscriptionMetrics metrics = new SubscriptionMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
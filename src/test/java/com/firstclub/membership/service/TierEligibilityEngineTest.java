@@ -0,0 +1,89 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.domain.entity.MembershipTier;
+import com.firstclub.membership.exception.BusinessException;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TierEligibilityEngineTest {
+
+    @Mock
+    private MembershipTierRepository tierRepository;
+
+    @InjectMocks
+    private TierEligibilityEngine eligibilityEngine;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tierRepository.findByActiveTrueOrderByTierLevelAsc()).thenReturn(List.of(
+                tier(1L, "Silver", 1, 0, "0.00", null),
+                tier(2L, "Gold", 2, 5, "500.00", null),
+                tier(3L, "Platinum", 3, 15, "2000.00", null),
+                tier(4L, "Diamond", 4, 10, "1500.00", "VIP")
+        ));
+    }
+
+    @Test
+    void findEligibleTier_ReturnsHighestMatchingTier() {
+        eligibilityEngine.refresh();
+
+        assertEquals("Gold", eligibilityEngine.findEligibleTier(5, new BigDecimal("500.00"), null).getName());
+        assertEquals("Platinum", eligibilityEngine.findEligibleTier(20, new BigDecimal("5000"), "STANDARD").getName());
+    }
+
+    @Test
+    void findEligibleTier_CohortTierOnlyForMatchingCohort() {
+        eligibilityEngine.refresh();
+
+        assertEquals("Diamond", eligibilityEngine.findEligibleTier(12, new BigDecimal("1750.00"), "VIP").getName());
+        assertEquals("Gold", eligibilityEngine.findEligibleTier(12, new BigDecimal("1750.00"), "STANDARD").getName());
+        assertEquals("Gold", eligibilityEngine.findEligibleTier(12, new BigDecimal("1750.00"), null).getName());
+    }
+
+    @Test
+    void findEligibleTier_CentsOverloadMatchesDecimal() {
+        eligibilityEngine.refresh();
+
+        assertEquals("Silver", eligibilityEngine.findEligibleTier(5, 49_999L, null).getName());
+        assertEquals("Gold", eligibilityEngine.findEligibleTier(5, 50_000L, null).getName());
+    }
+
+    @Test
+    void findEligibleTier_LoadsLazilyBeforeFirstRefresh() {
+        assertEquals("Silver", eligibilityEngine.findEligibleTier(0, BigDecimal.ZERO, null).getName());
+
+        verify(tierRepository, times(1)).findByActiveTrueOrderByTierLevelAsc();
+    }
+
+    @Test
+    void findEligibleTier_NoActiveTiers_ThrowsException() {
+        when(tierRepository.findByActiveTrueOrderByTierLevelAsc()).thenReturn(List.of());
+
+        assertThrows(BusinessException.class,
+                () -> eligibilityEngine.findEligibleTier(0, BigDecimal.ZERO, null));
+    }
+
+    private MembershipTier tier(Long id, String name, int level, int minOrders, String minValue, String cohort) {
+        return MembershipTier.builder()
+                .id(id)
+                .name(name)
+                .tierLevel(level)
+                .minOrderCount(minOrders)
+                .minOrderValue(new BigDecimal(minValue))
+                .requiredCohort(cohort)
+                .active(true)
+                .build();
+    }
+}
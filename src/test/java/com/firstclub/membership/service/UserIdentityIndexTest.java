@@ -0,0 +1,47 @@
+package com.firstclub.membership.service;
+
+import com.firstclub.membership.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserIdentityIndexTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mightContain_BeforeLoad_ReportsEveryKeyAsPossiblyPresent() {
+        UserIdentityIndex index = new UserIdentityIndex(userRepository, transactionManager, 1000L, 0.001);
+
+        assertTrue(index.mightContainUsername("nobody"));
+        assertTrue(index.mightContainEmail("nobody@example.com"));
+    }
+
+    @Test
+    void rebuild_LoadsExistingUsersAndAddTracksNewOnes() {
+        UserIdentityIndex index = new UserIdentityIndex(userRepository, transactionManager, 1000L, 0.001);
+
+        index.rebuild();
+
+        assertTrue(index.mightContainUsername("testuser"));
+        assertTrue(index.mightContainEmail("vip@example.com"));
+        assertFalse(index.mightContainUsername("newcomer"));
+        assertFalse(index.mightContainEmail("newcomer@example.com"));
+
+        index.add("newcomer", "newcomer@example.com");
+
+        assertTrue(index.mightContainUsername("newcomer"));
+        assertTrue(index.mightContainEmail("newcomer@example.com"));
+    }
+}
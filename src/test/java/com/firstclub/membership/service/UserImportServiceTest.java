@@ -0,0 +1,153 @@
+package com.firstclub.membership.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstclub.membership.domain.enums.SubscriptionStatus;
+import com.firstclub.membership.dto.response.ImportRowError;
+import com.firstclub.membership.dto.response.UserImportResponse;
+import com.firstclub.membership.repository.MembershipPlanRepository;
+import com.firstclub.membership.repository.MembershipTierRepository;
+import com.firstclub.membership.repository.TierBenefitRepository;
+import com.firstclub.membership.repository.UserBulkRepository;
+import com.firstclub.membership.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    private static final String HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipPlanRepository planRepository;
+
+    @Autowired
+    private MembershipTierRepository tierRepository;
+
+    @Autowired
+    private TierBenefitRepository benefitRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        MembershipCatalog catalog = new MembershipCatalog(planRepository, tierRepository, benefitRepository,
+                transactionManager, 600_000L);
+        importService = new UserImportService(userRepository,
+                new UserBulkRepository(jdbcTemplate, true),
+                catalog,
+                new UserIdentityIndex(userRepository, transactionManager, 1000L, 0.01),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(),
+                transactionManager, events::add, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_subscriptions WHERE user_id > 3");
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id > 3");
+        jdbcTemplate.update("DELETE FROM users WHERE id > 3");
+    }
+
+    @Test
+    void importUsers_Csv_WritesValidRowsInBatchesAndReportsTheRest() {
+        String csv = """
+                username,email,passwordHash,fullName,cohort,planId,tierId,startDate
+                alice,alice@example.com,%1$s,Alice,,1,1,2026-01-01
+                bob,bob@example.com,%1$s,"Bob, Jr.",VIP,,,
+                carol,carol@example.com,not-a-hash,Carol,,,,
+                testuser,other@example.com,%1$s,Dup,,,,
+                alice,alice2@example.com,%1$s,Again,,,,
+                dave,dave@example.com,%1$s,Dave,,99,1,
+                erin,erin@example.com,%1$s,Erin,,3,2,
+                """.formatted(HASH);
+
+        UserImportResponse response = importService.importUsers(stream(csv), UserImportService.Format.CSV);
+
+        assertEquals(7, response.getTotalRows());
+        assertEquals(3, response.getImportedUsers());
+        assertEquals(2, response.getImportedSubscriptions());
+        assertEquals(4, response.getFailedRows());
+        assertEquals(UserBulkRepository.WRITER_JDBC_BATCH, response.getWriter());
+        Map<Long, String> errors = response.getErrors().stream()
+                .collect(Collectors.toMap(ImportRowError::getLine, ImportRowError::getMessage));
+        assertEquals("Password hash must be a BCrypt hash", errors.get(4L));
+        assertEquals("Username already exists", errors.get(5L));
+        assertEquals("Username already exists", errors.get(6L));
+        assertEquals("Unknown plan ID 99", errors.get(7L));
+
+        assertEquals("Bob, Jr.", userRepository.findByUsername("bob").orElseThrow().getFullName());
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles r JOIN users u ON u.id = r.user_id " +
+                "WHERE u.username = 'erin' AND r.role = 'ROLE_USER'", Integer.class));
+        assertEquals(LocalDateTime.of(2026, 2, 1, 0, 0), jdbcTemplate.queryForObject(
+                "SELECT s.expiry_date FROM user_subscriptions s JOIN users u ON u.id = s.user_id " +
+                "WHERE u.username = 'alice'", LocalDateTime.class));
+        Long aliceSubscriptionId = jdbcTemplate.queryForObject(
+                "SELECT s.id FROM user_subscriptions s JOIN users u ON u.id = s.user_id " +
+                "WHERE u.username = 'alice'", Long.class);
+        assertEquals(2, events.size());
+        assertTrue(events.contains(new SubscriptionChangedEvent(aliceSubscriptionId,
+                userRepository.findByUsername("alice").orElseThrow().getId(),
+                SubscriptionStatus.EXPIRED, LocalDateTime.of(2026, 2, 1, 0, 0))));
+    }
+
+    @Test
+    void importUsers_Ndjson_RetriesFailedBatchRowByRow() {
+        String ndjson = """
+                {"username":"frank","email":"frank@example.com","passwordHash":"%1$s","planId":1,"tierId":1}
+                {"username":"grace","email":"grace@example.com","passwordHash":"%1$s","planId":1,"tierId":1,"paidAmount":123456789012.34}
+                {not json}
+
+                {"username":"heidi","email":"heidi@example.com","passwordHash":"%1$s"}
+                """.formatted(HASH);
+
+        UserImportResponse response = importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON);
+
+        assertEquals(4, response.getTotalRows());
+        assertEquals(2, response.getImportedUsers());
+        assertEquals(1, response.getImportedSubscriptions());
+        assertEquals(2, response.getFailedRows());
+        assertEquals("grace", response.getErrors().get(0).getUsername());
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("Invalid JSON"));
+        assertTrue(userRepository.findByUsername("frank").isPresent());
+        assertTrue(userRepository.findByUsername("grace").isEmpty());
+        assertTrue(userRepository.findByUsername("heidi").isPresent());
+        assertEquals(1, events.size());
+        SubscriptionChangedEvent event = (SubscriptionChangedEvent) events.get(0);
+        assertEquals(userRepository.findByUsername("frank").orElseThrow().getId(), event.userId());
+        assertEquals(SubscriptionStatus.ACTIVE, event.status());
+    }
+
+    private ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}